@@ -0,0 +1,62 @@
+#!/bin/sh
+# Profile-guided native build of one tool:
+#   ./build_native_pgo.sh checksum|watchdir|lucene|iphelper|logcanon|mlmain
+# Builds an instrumented image, runs a representative workload with it to record
+# pgo/<tool>.iprof, then rebuilds target/<tool> optimized with that profile.
+# --pgo needs GraalVM Enterprise; for a plain build use mvn -Pnative-<tool> package.
+set -e
+tool=$1
+case "$tool" in
+checksum|watchdir|lucene|iphelper|logcanon|mlmain) ;;
+*) echo "usage: $0 checksum|watchdir|lucene|iphelper|logcanon|mlmain" >&2; exit 1 ;;
+esac
+
+mvn -Pnative-$tool,pgo-instrument -DskipTests clean package
+
+work=$(mktemp -d)
+trap 'rm -rf "$work"' EXIT
+image=$(pwd)/target/$tool
+cd "$work"
+case "$tool" in
+checksum)
+    head -c 268435456 /dev/urandom > data.bin
+    for algorithm in MD5 SHA-1 SHA-256; do "$image" -a $algorithm data.bin; done
+    ;;
+watchdir)
+    mkdir tree
+    "$image" -r tree > /dev/null &
+    sleep 2
+    for i in $(seq 1 2000); do
+        mkdir -p tree/d$((i % 50)) && echo $i > tree/d$((i % 50))/f$i && echo x >> tree/d$((i % 50))/f$i
+    done
+    sleep 2
+    # the watcher exits normally, writing its profile, once the tree is gone
+    rm -rf tree
+    wait
+    ;;
+lucene)
+    "$image" --docs 50000 --concurrency 1,4 --work-dir "$work/bench" -o "$work/bench.json"
+    ;;
+iphelper)
+    for i in $(seq 1 20); do "$image" > /dev/null; done
+    ;;
+logcanon)
+    awk 'BEGIN { srand(1); for (i = 0; i < 2000000; i++)
+        printf "%d.%d.%d.%d - - [10/Oct/2000:13:55:36 -0700] \"GET /mgmt/tm/sys HTTP/1.1\" 200 %d 2001:db8::%x\n",
+            int(rand() * 256), int(rand() * 256), int(rand() * 256), int(rand() * 256), i, i }' > access.log
+    "$image" access.log -o /dev/null
+    ;;
+mlmain)
+    printf 'describe\ncreate\nhelp\nexit\n' | "$image"
+    ;;
+esac
+cd - > /dev/null
+
+if [ ! -f "$work/default.iprof" ]; then
+    echo "The instrumented $tool wrote no default.iprof; did it exit normally?" >&2
+    exit 1
+fi
+mkdir -p pgo
+mv "$work/default.iprof" pgo/$tool.iprof
+mvn -Pnative-$tool,pgo -DskipTests package
+echo "Built target/$tool with pgo/$tool.iprof"
@@ -0,0 +1,3 @@
+#!/bin/sh
+# ./run_jmh.sh [JMH options], e.g. ./run_jmh.sh IpHelperBenchmark -p dataset=v6-valid -prof gc
+mvn -Pjmh compile exec:exec -Djmh.args="${*:--prof gc}"
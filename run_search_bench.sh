@@ -0,0 +1,2 @@
+#!/bin/sh
+mvn -Plucene-bench compile exec:java -Dexec.args="$*"
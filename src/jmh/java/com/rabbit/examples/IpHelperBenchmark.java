@@ -0,0 +1,89 @@
+package com.rabbit.examples;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the {@link IpHelper} checks over fixed inputs. Each invocation handles the
+ * next input of the dataset, so branch predictors see a mix rather than one string.
+ * Run with {@code -prof gc} for the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class IpHelperBenchmark {
+
+    @Param({ "v4-valid", "v4-invalid", "v6-valid", "v6-invalid" })
+    String dataset;
+
+    private String[] inputs;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        switch (dataset) {
+        case "v4-valid":
+            inputs = new String[] { "10.218.25.25", "192.168.0.1", " 172.16.254.3 ", "8.8.8.8", "255.255.255.255",
+                    "010.001.002.003", "1.2.3.4", "100.64.12.200" };
+            break;
+        case "v4-invalid":
+            inputs = new String[] { "11111111", "256.1.1.1", "10.1", "1.2.3.4.5", "Hello, World", "example.com",
+                    "10.0.0.", "a.b.c.d" };
+            break;
+        case "v6-valid":
+            inputs = new String[] { "2001:db8::1", "[::ffff:10.218.25.25]", "fe80::1%eth0", "::1",
+                    "2001:0db8:85a3:0000:0000:8a2e:0370:7334", "::", "64:ff9b::192.0.2.33", "ff02::1:ff00:1" };
+            break;
+        case "v6-invalid":
+            inputs = new String[] { "host:8080", "2001:db8:::1", "1:2:3:4:5:6:7:8:9", "fe80::1%", "12:30:45",
+                    "::ffff:256.1.1.1", "gggg::1", "[2001:db8::1" };
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown dataset " + dataset);
+        }
+    }
+
+    private String nextInput() {
+        String input = inputs[next];
+        next = next + 1 == inputs.length ? 0 : next + 1;
+        return input;
+    }
+
+    @Benchmark
+    public boolean checkIsIpV4Address() {
+        return IpHelper.checkIsIpV4Address(nextInput());
+    }
+
+    @Benchmark
+    public boolean checkIsIpV6Address() {
+        return IpHelper.checkIsIpV6Address(nextInput());
+    }
+
+    @Benchmark
+    public String makeCanonicalAddress() {
+        return IpHelper.makeCanonicalAddress(nextInput());
+    }
+
+    /**
+     * The same with the canonical address cache turned off, so every call parses and formats.
+     */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = "-Diphelper.canonicalCacheSize=0")
+    public String makeCanonicalAddressUncached() {
+        return IpHelper.makeCanonicalAddress(nextInput());
+    }
+}
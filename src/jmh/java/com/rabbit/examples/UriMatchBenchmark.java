@@ -0,0 +1,67 @@
+package com.rabbit.examples;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link StringManipulationUtils#isIcrdCall(CharSequence)} over the sample request
+ * paths, split by length, against the regular expression it replaced. Run with
+ * {@code -prof gc} for the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class UriMatchBenchmark {
+
+    // paths up to this long count as short
+    private static final int SHORT_URI_LENGTH = 32;
+
+    private static final Pattern ICRD_URI_PATTERN =
+            Pattern.compile("^(\\/mgmt)?(\\/)?(tm|cm|sys|access|device|net|odata|subscriptions|toc).*$");
+
+    @Param({ "short", "long" })
+    String dataset;
+
+    private String[] uris;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        boolean wantShort = "short".equals(dataset);
+        uris = Arrays.stream(StringManipulationUtils.SAMPLE_URIS)
+                .filter(uri -> uri.length() <= SHORT_URI_LENGTH == wantShort)
+                .toArray(String[]::new);
+    }
+
+    private String nextUri() {
+        String uri = uris[next];
+        next = next + 1 == uris.length ? 0 : next + 1;
+        return uri;
+    }
+
+    @Benchmark
+    public boolean isIcrdCall() {
+        return StringManipulationUtils.isIcrdCall(nextUri());
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return ICRD_URI_PATTERN.matcher(nextUri()).matches();
+    }
+}
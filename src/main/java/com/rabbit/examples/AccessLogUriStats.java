@@ -0,0 +1,381 @@
+package com.rabbit.examples;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.rabbit.examples.io.AsciiSequence;
+import com.rabbit.examples.io.FileChunks;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import picocli.jansi.graalvm.AnsiConsole;
+
+/**
+ * Counts the request URIs of access logs by area (tm, cm, shared or other), by whether they
+ * are iControl REST calls ({@link StringManipulationUtils#isIcrdCall(CharSequence)}) and by
+ * leading path segments, and prints the busiest prefixes.
+ * <p>
+ * The logs are cut into line-aligned chunks that a fixed set of worker threads pull from a
+ * shared list. Each worker reads into one reused buffer and counts into its own primitive
+ * {@link Counters}; URIs are classified straight from the bytes, and a prefix becomes a
+ * byte array only the first time a worker sees it. The workers' counters are merged once at
+ * the end.
+ */
+@Command(name = "uristats", mixinStandardHelpOptions = true,
+        version = "uristats 1.0",
+        description = "Counts access log request URIs by REST area and prefix.")
+public class AccessLogUriStats implements Callable<Integer> {
+
+    /**
+     * The area of the REST tree a URI falls in, after the optional {@code /mgmt}.
+     */
+    enum Area {
+        TM(StringManipulationUtils.TM_PATH_PREFIX),
+        CM(StringManipulationUtils.CM_PATH_PREFIX),
+        SHARED(StringManipulationUtils.SHARED_PATH_PREFIX),
+        OTHER("");
+
+        // the first path segment, without the slash
+        final byte[] segment;
+
+        Area(String pathPrefix) {
+            segment = pathPrefix.isEmpty() ? new byte[0]
+                    : pathPrefix.substring(0, pathPrefix.length() - 1).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static final Area[] AREAS = Area.values();
+
+    private static final byte[] EXTERNAL_PREFIX =
+            ("/" + StringManipulationUtils.EXTERNAL_URI_PREFIX).getBytes(StandardCharsets.US_ASCII);
+
+    @Parameters(arity = "1..*", description = "The access logs to read.")
+    private List<File> logs;
+
+    @Option(names = {"-t", "--threads"}, description = "Worker threads, one per core by default.")
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"-c", "--chunk-size"}, description = "Nominal chunk size in KiB (default: ${DEFAULT-VALUE}).")
+    private int chunkKiB = 8192;
+
+    @Option(names = {"-d", "--depth"}, description = "Path segments in a prefix (default: ${DEFAULT-VALUE}).")
+    private int depth = 3;
+
+    @Option(names = {"-n", "--top"}, description = "How many prefixes to print (default: ${DEFAULT-VALUE}).")
+    private int top = 20;
+
+    public static void main(String... args) {
+        int exitCode;
+        try (AnsiConsole ansi = AnsiConsole.windowsInstall()) {
+            exitCode = new CommandLine(new AccessLogUriStats()).execute(args);
+        }
+        System.exit(exitCode);
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        List<Path> files = new ArrayList<>();
+        for (File log : logs) {
+            files.add(log.toPath());
+        }
+        long start = System.nanoTime();
+        Counters counters = count(files, threads, chunkKiB * 1024L, depth);
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+
+        System.out.format("%-8s %14s%n", "area", "requests");
+        for (Area area : AREAS) {
+            System.out.format("%-8s %14d%n", area.name().toLowerCase(), counters.areas[area.ordinal()]);
+        }
+        System.out.format("%-8s %14d%n", "icrd", counters.icrd);
+        System.out.format("%-8s %14d%n%n", "no uri", counters.unparsed);
+        System.out.format("%14s  %s%n", "requests", "prefix");
+        for (Map.Entry<String, Long> entry : counters.top(top)) {
+            System.out.format("%14d  %s%n", entry.getValue(), entry.getKey());
+        }
+        System.out.format("%n%d lines, %d bytes in %.3f s: %.0f lines/s, %.1f MB/s%n", counters.lines,
+                counters.bytes, seconds, counters.lines / seconds, counters.bytes / seconds / 1e6);
+        return 0;
+    }
+
+    /**
+     * Counts the URIs of all the files on {@code threads} workers.
+     *
+     * @param depth how many path segments make up a prefix
+     */
+    public static Counters count(List<Path> files, int threads, long chunkSize, int depth)
+            throws IOException, InterruptedException {
+        if (depth < 1) {
+            throw new IllegalArgumentException("A prefix needs at least one segment");
+        }
+        List<FileChannel> channels = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Chunk> chunks = new ArrayList<>();
+            for (Path file : files) {
+                FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                channels.add(channel);
+                long[] bounds = FileChunks.split(channel, chunkSize);
+                for (int i = 0; i + 1 < bounds.length; i++) {
+                    chunks.add(new Chunk(channel, bounds[i], bounds[i + 1]));
+                }
+            }
+            AtomicInteger next = new AtomicInteger();
+            List<Callable<Counters>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(() -> {
+                    Counters counters = new Counters();
+                    byte[] buffer = new byte[(int) Math.min(chunkSize + 4096, Integer.MAX_VALUE - 8)];
+                    for (int n; (n = next.getAndIncrement()) < chunks.size();) {
+                        Chunk chunk = chunks.get(n);
+                        if (chunk.to - chunk.from > buffer.length) {
+                            buffer = new byte[Math.toIntExact(chunk.to - chunk.from)];
+                        }
+                        int length = FileChunks.read(chunk.channel, chunk.from, chunk.to, buffer);
+                        count(buffer, length, depth, counters);
+                    }
+                    return counters;
+                });
+            }
+            Counters total = new Counters();
+            for (Future<Counters> worker : pool.invokeAll(workers)) {
+                total.merge(get(worker));
+            }
+            return total;
+        } finally {
+            pool.shutdownNow();
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    private static Counters get(Future<Counters> worker) throws IOException, InterruptedException {
+        try {
+            return worker.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Counts the lines in {@code bytes[0, length)}.
+     */
+    static void count(byte[] bytes, int length, int depth, Counters counters) {
+        AsciiSequence uri = new AsciiSequence();
+        counters.bytes += length;
+        for (int lineStart = 0; lineStart < length;) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            counters.lines++;
+            countLine(bytes, lineStart, lineEnd, depth, uri, counters);
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private static void countLine(byte[] bytes, int from, int to, int depth, AsciiSequence uri, Counters counters) {
+        // the URI is the second word of the first quoted field: "GET /mgmt/tm/sys HTTP/1.1"
+        int start;
+        int quote = indexOf(bytes, from - 1, to, '"');
+        if (quote >= 0) {
+            int space = indexOf(bytes, quote, to, ' ');
+            start = space < 0 ? -1 : space + 1;
+        } else {
+            // not a common log format line, take the first path in it
+            start = indexOf(bytes, from - 1, to, '/');
+        }
+        if (start < 0 || start >= to || bytes[start] != '/') {
+            counters.unparsed++;
+            return;
+        }
+        int end = start;
+        while (end < to && bytes[end] != ' ' && bytes[end] != '"' && bytes[end] != '?' && bytes[end] != '\r') {
+            end++;
+        }
+
+        counters.areas[area(bytes, start, end).ordinal()]++;
+        if (StringManipulationUtils.isIcrdCall(uri.wrap(bytes, start, end))) {
+            counters.icrd++;
+        }
+        int prefixEnd = start + 1;
+        for (int segments = 0; prefixEnd < end; prefixEnd++) {
+            if (bytes[prefixEnd] == '/' && ++segments == depth) {
+                break;
+            }
+        }
+        counters.addPrefix(bytes, start, prefixEnd);
+    }
+
+    static Area area(byte[] bytes, int from, int to) {
+        int segment = from;
+        if (startsWith(bytes, from, to, EXTERNAL_PREFIX)
+                && (from + EXTERNAL_PREFIX.length == to || bytes[from + EXTERNAL_PREFIX.length] == '/')) {
+            segment += EXTERNAL_PREFIX.length;
+        }
+        if (segment < to && bytes[segment] == '/') {
+            segment++;
+        }
+        int segmentEnd = indexOf(bytes, segment - 1, to, '/');
+        if (segmentEnd < 0) {
+            segmentEnd = to;
+        }
+        for (Area area : AREAS) {
+            if (area.segment.length == segmentEnd - segment && startsWith(bytes, segment, segmentEnd, area.segment)) {
+                return area;
+            }
+        }
+        return Area.OTHER;
+    }
+
+    /**
+     * @return the index of the first {@code c} after {@code after}, or -1
+     */
+    private static int indexOf(byte[] bytes, int after, int to, char c) {
+        for (int i = after + 1; i < to; i++) {
+            if (bytes[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] bytes, int from, int to, byte[] prefix) {
+        if (to - from < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[from + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Chunk {
+        final FileChannel channel;
+        final long from;
+        final long to;
+
+        Chunk(FileChannel channel, long from, long to) {
+            this.channel = channel;
+            this.from = from;
+            this.to = to;
+        }
+    }
+
+    /**
+     * One worker's tallies. Prefix counts live in an open-addressed table of byte arrays.
+     */
+    static final class Counters {
+        long lines;
+        long bytes;
+        long unparsed;
+        long icrd;
+        final long[] areas = new long[AREAS.length];
+
+        private byte[][] keys = new byte[256][];
+        private int[] hashes = new int[256];
+        private long[] counts = new long[256];
+        private int size;
+
+        void addPrefix(byte[] bytes, int from, int to) {
+            int hash = 1;
+            for (int i = from; i < to; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            add(bytes, from, to, hash, 1);
+        }
+
+        private void add(byte[] bytes, int from, int to, int hash, long count) {
+            int mask = keys.length - 1;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            for (byte[] key; (key = keys[slot]) != null; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && key.length == to - from && startsWith(bytes, from, to, key)) {
+                    counts[slot] += count;
+                    return;
+                }
+            }
+            keys[slot] = Arrays.copyOfRange(bytes, from, to);
+            hashes[slot] = hash;
+            counts[slot] = count;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        private void grow() {
+            byte[][] oldKeys = keys;
+            int[] oldHashes = hashes;
+            long[] oldCounts = counts;
+            keys = new byte[oldKeys.length * 2][];
+            hashes = new int[keys.length];
+            counts = new long[keys.length];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null) {
+                    add(oldKeys[i], 0, oldKeys[i].length, oldHashes[i], oldCounts[i]);
+                }
+            }
+        }
+
+        void merge(Counters other) {
+            lines += other.lines;
+            bytes += other.bytes;
+            unparsed += other.unparsed;
+            icrd += other.icrd;
+            for (int i = 0; i < areas.length; i++) {
+                areas[i] += other.areas[i];
+            }
+            for (int i = 0; i < other.keys.length; i++) {
+                if (other.keys[i] != null) {
+                    add(other.keys[i], 0, other.keys[i].length, other.hashes[i], other.counts[i]);
+                }
+            }
+        }
+
+        /**
+         * @return the {@code n} most requested prefixes, busiest first
+         */
+        List<Map.Entry<String, Long>> top(int n) {
+            List<Map.Entry<String, Long>> entries = new ArrayList<>(size);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != null) {
+                    entries.add(new AbstractMap.SimpleImmutableEntry<>(
+                            new String(keys[i], StandardCharsets.ISO_8859_1), counts[i]));
+                }
+            }
+            entries.sort(Collections.reverseOrder(Map.Entry.<String, Long>comparingByValue())
+                    .thenComparing(Map.Entry.comparingByKey()));
+            return entries.subList(0, Math.min(n, entries.size()));
+        }
+
+        /**
+         * @return the number of distinct prefixes
+         */
+        int getPrefixCount() {
+            return size;
+        }
+    }
+}
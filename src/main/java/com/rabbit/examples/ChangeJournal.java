@@ -0,0 +1,543 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.WatchEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, memory-mapped journal of watch events, so that events which were seen but not
+ * yet handled survive a crash or restart.
+ * <p>
+ * The journal is a directory of segment files, each a fixed number of 256-byte slots named
+ * after the offset of its first slot. A record takes one or more consecutive slots:
+ * <pre>
+ *  0  int   length of the UTF-8 path, written last; 0 marks free space, -1 the end of a segment
+ *  4  byte  kind: 1 create, 2 delete, 3 modify
+ *  5  byte  number of slots taken
+ *  8  long  time appended, millis since the epoch
+ * 16  int   CRC32 of the path
+ * 20        path bytes, running on into the following slots
+ * </pre>
+ * An offset is the global number of a record's first slot. {@link #publish(Event)} only
+ * queues the event; a writer thread appends whatever has queued up and forces the mapping to
+ * disk at most once per commit interval, so one fsync covers a whole burst. Readers see a
+ * record only once it is durable.
+ * <p>
+ * Consumers are named; each commits the offset it has handled up to into its own file, and
+ * {@link #follow(String, EventSink)} resumes from there after a restart. On opening, the last
+ * segment is scanned up to the first free or damaged slot, and a torn tail is cleared.
+ */
+public class ChangeJournal implements EventSink, Closeable {
+
+    static final int SLOT_SIZE = 256;
+    static final int HEADER_SIZE = 20;
+    private static final int END_OF_SEGMENT = -1;
+    private static final int MAX_BATCH = 1024;
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final String OFFSET_SUFFIX = ".offset";
+
+    private static final Event CLOSE = new Event(null, null);
+
+    private final Path dir;
+    private final int segmentSlots;
+    private final long commitNanos;
+    private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+    private final BlockingQueue<Event> queue = new LinkedBlockingQueue<>();
+    private final Thread writer;
+    private final Object lock = new Object();
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    // owned by the writer thread
+    private MappedByteBuffer current;
+    private long currentBase;
+    private long appendedOffset;
+    private long appendedCount;
+
+    private volatile long durableOffset;
+    private volatile long durableCount;
+    private volatile long forceCount;
+    private volatile boolean closed;
+    private volatile boolean stopped;
+    private volatile Throwable failure;
+
+    /**
+     * Opens or creates the journal in the given directory.
+     *
+     * @param segmentSlots      size of new segment files, in 256-byte slots
+     * @param commitIntervalMillis how long appended records may wait for the next force, 0 forces
+     *                          after every batch the writer picks up
+     */
+    public ChangeJournal(Path dir, int segmentSlots, long commitIntervalMillis) throws IOException {
+        if (segmentSlots < Byte.MAX_VALUE || commitIntervalMillis < 0) {
+            throw new IllegalArgumentException("segmentSlots too small or negative commit interval");
+        }
+        this.dir = Files.createDirectories(dir);
+        this.segmentSlots = segmentSlots;
+        this.commitNanos = TimeUnit.MILLISECONDS.toNanos(commitIntervalMillis);
+        recover();
+
+        this.writer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                writeLoop();
+            }
+        }, "watch-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the event for appending. Never blocks.
+     *
+     * @throws IllegalArgumentException if the event's kind cannot be journaled
+     * @throws IllegalStateException    if the journal is closed or its writer has stopped
+     */
+    @Override
+    public void publish(Event event) {
+        if (closed) {
+            throw new IllegalStateException("journal closed");
+        }
+        if (stopped) {
+            // nothing would drain the queue any more
+            throw new IllegalStateException("journal writer stopped", failure);
+        }
+        kindCode(event.getKind());
+        publishedCount.incrementAndGet();
+        queue.add(event);
+    }
+
+    /**
+     * Waits until every event published before the call is on disk.
+     *
+     * @throws IOException if the writer failed or stopped before getting there
+     */
+    public void sync() throws IOException, InterruptedException {
+        long target = publishedCount.get();
+        synchronized (lock) {
+            while (durableCount < target && failure == null && writer.isAlive()) {
+                lock.wait(100);
+            }
+        }
+        checkFailure();
+        if (durableCount < target) {
+            throw new IOException("Journal writer stopped with " + (target - durableCount) + " events not durable");
+        }
+    }
+
+    /**
+     * Reads durable records starting at the given offset.
+     *
+     * @return the offset after the last record read
+     */
+    public long read(long offset, int maxEvents, List<Event> into) throws IOException {
+        long end = durableOffset;
+        int read = 0;
+        while (offset < end && read < maxEvents) {
+            Map.Entry<Long, MappedByteBuffer> entry = segments.floorEntry(offset);
+            if (entry == null) {
+                throw new IOException("Offset " + offset + " is no longer in the journal");
+            }
+            ByteBuffer segment = entry.getValue().duplicate();
+            int slots = segment.capacity() / SLOT_SIZE;
+            int slot = (int) (offset - entry.getKey());
+            int length = slot < slots ? segment.getInt(slot * SLOT_SIZE) : END_OF_SEGMENT;
+            if (length == END_OF_SEGMENT) {
+                offset = entry.getKey() + slots;
+                continue;
+            }
+            into.add(decode(segment, slot * SLOT_SIZE, length));
+            offset += segment.get(slot * SLOT_SIZE + 5);
+            read++;
+        }
+        return offset;
+    }
+
+    /**
+     * @return the offset the consumer has committed, or the start of the journal if it never has.
+     */
+    public long committedOffset(String consumer) throws IOException {
+        Path file = offsetFile(consumer);
+        if (Files.exists(file)) {
+            return Long.parseLong(new String(Files.readAllBytes(file), StandardCharsets.US_ASCII).trim());
+        }
+        return segments.isEmpty() ? durableOffset : segments.firstKey();
+    }
+
+    /**
+     * Records that the consumer has handled everything before the offset. The file is
+     * replaced atomically, a crash leaves either the old or the new offset.
+     */
+    public void commit(String consumer, long offset) throws IOException {
+        Path file = offsetFile(consumer);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(Long.toString(offset).getBytes(StandardCharsets.US_ASCII)));
+            channel.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Hands the consumer's records to the handler, from its committed offset up to what is
+     * durable now, and commits how far it got, also when the handler fails.
+     *
+     * @return the number of records handled
+     */
+    public int replay(String consumer, EventHandler handler) throws Exception {
+        long offset = committedOffset(consumer);
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        int handled = 0;
+        try {
+            for (;;) {
+                long next = read(offset, 1, batch);
+                if (batch.isEmpty()) {
+                    return handled;
+                }
+                handler.handle(batch.get(0));
+                batch.clear();
+                offset = next;
+                handled++;
+            }
+        } finally {
+            commit(consumer, offset);
+        }
+    }
+
+    /**
+     * Feeds the consumer's records to a sink until the journal is closed, starting with
+     * whatever it had not committed before. An offset is committed only after the sink has
+     * been flushed, so after a crash events are delivered again rather than lost.
+     */
+    public void follow(String consumer, EventSink downstream) throws IOException, InterruptedException {
+        long offset = committedOffset(consumer);
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        for (;;) {
+            long next = read(offset, MAX_BATCH, batch);
+            if (batch.isEmpty()) {
+                if (stopped && durableOffset <= offset) {
+                    return;
+                }
+                synchronized (lock) {
+                    while (durableOffset <= offset && !stopped) {
+                        lock.wait(100);
+                    }
+                }
+                continue;
+            }
+            downstream.publishAll(batch);
+            downstream.flush();
+            batch.clear();
+            commit(consumer, next);
+            offset = next;
+            purge();
+        }
+    }
+
+    /**
+     * Deletes the segments every consumer has moved past. Without any consumer nothing is
+     * deleted.
+     */
+    public void purge() throws IOException {
+        long lowest = Long.MAX_VALUE;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + OFFSET_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                lowest = Math.min(lowest, committedOffset(name.substring(0, name.length() - OFFSET_SUFFIX.length())));
+            }
+        }
+        for (Map.Entry<Long, MappedByteBuffer> entry : segments.entrySet()) {
+            long end = entry.getKey() + entry.getValue().capacity() / SLOT_SIZE;
+            if (end > lowest || entry.getKey().equals(segments.lastKey())) {
+                break;
+            }
+            segments.remove(entry.getKey());
+            Files.deleteIfExists(segmentFile(entry.getKey()));
+        }
+    }
+
+    /**
+     * Appends and forces everything published so far, then stops the writer. Followers return
+     * once they have caught up.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(CLOSE);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkFailure();
+    }
+
+    /**
+     * @return the offset after the last durable record.
+     */
+    public long getDurableOffset() {
+        return durableOffset;
+    }
+
+    /**
+     * @return how many times the mapping was forced to disk, each covering a batch of records.
+     */
+    public long getForceCount() {
+        return forceCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ChangeJournal [dir=%s, segments=%d, durableOffset=%d, records=%d, forces=%d]",
+                dir, segments.size(), durableOffset, durableCount, forceCount);
+    }
+
+    private void writeLoop() {
+        List<Event> batch = new ArrayList<>(MAX_BATCH);
+        long lastForce = System.nanoTime();
+        boolean stopping = false;
+        try {
+            while (!stopping) {
+                Event first;
+                if (appendedCount == durableCount) {
+                    first = queue.take();
+                } else {
+                    first = queue.poll(Math.max(0, lastForce + commitNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+                }
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                }
+                for (Event event : batch) {
+                    if (event == CLOSE) {
+                        stopping = true;
+                    } else {
+                        append(event);
+                    }
+                }
+                batch.clear();
+
+                long now = System.nanoTime();
+                if (appendedCount != durableCount && (stopping || now - lastForce >= commitNanos)) {
+                    current.force();
+                    forceCount++;
+                    lastForce = now;
+                    synchronized (lock) {
+                        durableOffset = appendedOffset;
+                        durableCount = appendedCount;
+                        lock.notifyAll();
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            // stopped without closing, unforced records are recovered from the mapping if the OS wrote them
+        } finally {
+            synchronized (lock) {
+                stopped = true;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void append(Event event) throws IOException {
+        byte[] path = event.getPath().toString().getBytes(StandardCharsets.UTF_8);
+        int slots = slotsFor(path.length);
+        if (slots > Byte.MAX_VALUE) {
+            System.err.format("Path too long for the journal, dropping %s\n", event);
+            appendedCount++;
+            return;
+        }
+        int slot = current == null ? segmentSlots : (int) (appendedOffset - currentBase);
+        int capacity = current == null ? 0 : current.capacity() / SLOT_SIZE;
+        if (slot + slots > capacity) {
+            if (current != null) {
+                if (slot < capacity) {
+                    current.putInt(slot * SLOT_SIZE, END_OF_SEGMENT);
+                }
+                current.force();
+            }
+            currentBase = current == null ? appendedOffset : currentBase + capacity;
+            current = map(currentBase, segmentSlots, true);
+            segments.put(currentBase, current);
+            appendedOffset = currentBase;
+            slot = 0;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(path, 0, path.length);
+        int position = slot * SLOT_SIZE;
+        ByteBuffer record = current.duplicate();
+        record.position(position + HEADER_SIZE);
+        record.put(path);
+        current.put(position + 4, kindCode(event.getKind()));
+        current.put(position + 5, (byte) slots);
+        current.putLong(position + 8, System.currentTimeMillis());
+        current.putInt(position + 16, (int) crc.getValue());
+        current.putInt(position, path.length);
+
+        appendedOffset += slots;
+        appendedCount++;
+    }
+
+    /**
+     * Maps the existing segments and finds the end of the last one.
+     */
+    private void recover() throws IOException {
+        List<Long> bases = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                bases.add(Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        if (bases.isEmpty()) {
+            return;
+        }
+        bases.sort(null);
+        for (int i = 0; i < bases.size() - 1; i++) {
+            long base = bases.get(i);
+            segments.put(base, map(base, (int) (Files.size(segmentFile(base)) / SLOT_SIZE), false));
+        }
+
+        currentBase = bases.get(bases.size() - 1);
+        current = map(currentBase, (int) (Files.size(segmentFile(currentBase)) / SLOT_SIZE), true);
+        segments.put(currentBase, current);
+        int capacity = current.capacity() / SLOT_SIZE;
+        int slot = 0;
+        while (slot < capacity) {
+            int length = current.getInt(slot * SLOT_SIZE);
+            if (length == END_OF_SEGMENT) {
+                slot = capacity;
+                break;
+            }
+            if (length == 0 || !isValid(current, slot, capacity, length)) {
+                break;
+            }
+            slot += current.get(slot * SLOT_SIZE + 5);
+        }
+        if (slot < capacity && current.getInt(slot * SLOT_SIZE) != 0) {
+            System.err.format("Discarding damaged journal tail at offset %d\n", currentBase + slot);
+            for (int i = slot * SLOT_SIZE; i < current.capacity(); i++) {
+                current.put(i, (byte) 0);
+            }
+            current.force();
+        }
+        appendedOffset = currentBase + slot;
+        durableOffset = appendedOffset;
+    }
+
+    private static boolean isValid(ByteBuffer segment, int slot, int capacity, int length) {
+        int position = slot * SLOT_SIZE;
+        int slots = segment.get(position + 5);
+        byte kind = segment.get(position + 4);
+        if (length < 0 || slots != slotsFor(length) || slot + slots > capacity || kind < 1 || kind > 3) {
+            return false;
+        }
+        byte[] path = new byte[length];
+        ByteBuffer record = segment.duplicate();
+        record.position(position + HEADER_SIZE);
+        record.get(path);
+        CRC32 crc = new CRC32();
+        crc.update(path, 0, path.length);
+        return (int) crc.getValue() == segment.getInt(position + 16);
+    }
+
+    private static Event decode(ByteBuffer segment, int position, int length) {
+        byte[] path = new byte[length];
+        segment.position(position + HEADER_SIZE);
+        segment.get(path);
+        // carry the time spent in the journal over into the event's latency
+        long age = TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - segment.getLong(position + 8)));
+        return new Event(Paths.get(new String(path, StandardCharsets.UTF_8)), kindOf(segment.get(position + 4)),
+                System.nanoTime() - age);
+    }
+
+    private MappedByteBuffer map(long base, int slots, boolean writable) throws IOException {
+        Path file = segmentFile(base);
+        if (!writable) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            // mapping beyond the end grows the file, the new part reads as zeros
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slots * SLOT_SIZE);
+        }
+    }
+
+    private Path segmentFile(long base) {
+        return dir.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+    }
+
+    private Path offsetFile(String consumer) {
+        if (!consumer.matches("[A-Za-z0-9_.-]+")) {
+            throw new IllegalArgumentException("Invalid consumer name: " + consumer);
+        }
+        return dir.resolve(consumer + OFFSET_SUFFIX);
+    }
+
+    private void checkFailure() throws IOException {
+        Throwable cause = failure;
+        if (cause != null) {
+            throw new IOException("Journal writer failed", cause);
+        }
+    }
+
+    static int slotsFor(int pathLength) {
+        return (HEADER_SIZE + pathLength + SLOT_SIZE - 1) / SLOT_SIZE;
+    }
+
+    private static byte kindCode(WatchEvent.Kind<?> kind) {
+        if (kind == ENTRY_CREATE) {
+            return 1;
+        }
+        if (kind == ENTRY_DELETE) {
+            return 2;
+        }
+        if (kind == ENTRY_MODIFY) {
+            return 3;
+        }
+        throw new IllegalArgumentException("Cannot journal " + kind);
+    }
+
+    private static WatchEvent.Kind<Path> kindOf(byte code) {
+        switch (code) {
+        case 1:
+            return ENTRY_CREATE;
+        case 2:
+            return ENTRY_DELETE;
+        default:
+            return ENTRY_MODIFY;
+        }
+    }
+}
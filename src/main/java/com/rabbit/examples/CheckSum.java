@@ -1,9 +1,13 @@
 package com.rabbit.examples;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigInteger;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.concurrent.Callable;
 
 import picocli.CommandLine;
@@ -15,7 +19,7 @@ import picocli.jansi.graalvm.AnsiConsole;
 @Command(name = "checksum", mixinStandardHelpOptions = true,
         version = "checksum 4.0",
         description = "Prints the checksum (MD5 by default) of a file to STDOUT.")
-class CheckSum implements Callable<Integer> {
+public class CheckSum implements Callable<Integer> {
 
     @Parameters(index = "0", description = "The file whose checksum to calculate.")
     private File file;
@@ -33,9 +37,22 @@ class CheckSum implements Callable<Integer> {
 
     @Override
     public Integer call() throws Exception { // your business logic goes here...
-        byte[] fileContents = Files.readAllBytes(file.toPath());
-        byte[] digest = MessageDigest.getInstance(algorithm).digest(fileContents);
+        byte[] digest = digest(file.toPath(), algorithm);
         System.out.printf("%0" + (digest.length*2) + "x%n", new BigInteger(1, digest));
         return 0;
     }
+
+    /**
+     * Computes the digest of a file's contents, streaming it rather than loading it whole.
+     */
+    public static byte[] digest(Path file, String algorithm) throws IOException, NoSuchAlgorithmException {
+        MessageDigest messageDigest = MessageDigest.getInstance(algorithm);
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int n; (n = in.read(buffer)) != -1;) {
+                messageDigest.update(buffer, 0, n);
+            }
+        }
+        return messageDigest.digest();
+    }
 }
@@ -0,0 +1,132 @@
+package com.rabbit.examples;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent cache holding at most a fixed number of entries, evicting with the CLOCK
+ * policy: every entry has a referenced bit that a hit sets, and when room is needed a hand
+ * sweeps the entries in insertion order, clearing set bits and evicting the first entry whose
+ * bit was already clear. Entries hit since the hand last passed survive, so a burst of
+ * one-off keys cannot flush the hot ones the way it would in a FIFO cache.
+ * <p>
+ * Lookups do not lock and only write when an entry's bit was clear. Inserts, which follow a
+ * miss, take a lock. A capacity of 0 disables caching: nothing is stored and every lookup
+ * misses.
+ */
+public class ClockCache<K, V> {
+
+    private final int capacity;
+    private final ConcurrentHashMap<K, Entry<K, V>> map;
+    private final Entry<K, V>[] ring;
+    private int hand;
+    private int size;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public ClockCache(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.capacity = capacity;
+        this.map = new ConcurrentHashMap<>(capacity);
+        this.ring = new Entry[capacity];
+    }
+
+    /**
+     * @return the cached value, or null
+     */
+    public V get(K key) {
+        Entry<K, V> entry = capacity == 0 ? null : map.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (!entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Caches the value unless the key is already present, evicting an entry if the cache is full.
+     */
+    public void put(K key, V value) {
+        if (capacity == 0) {
+            return;
+        }
+        synchronized (ring) {
+            if (map.containsKey(key)) {
+                return;
+            }
+            Entry<K, V> entry = new Entry<>(key, value);
+            if (size < capacity) {
+                ring[size++] = entry;
+            } else {
+                while (ring[hand].referenced) {
+                    ring[hand].referenced = false;
+                    hand = (hand + 1) % capacity;
+                }
+                map.remove(ring[hand].key);
+                evictions.increment();
+                ring[hand] = entry;
+                hand = (hand + 1) % capacity;
+            }
+            map.put(key, entry);
+        }
+    }
+
+    public void clear() {
+        synchronized (ring) {
+            map.clear();
+            for (int i = 0; i < size; i++) {
+                ring[i] = null;
+            }
+            size = 0;
+            hand = 0;
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        long h = getHitCount();
+        long m = getMissCount();
+        return String.format("ClockCache [size=%d, capacity=%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d]",
+                size(), capacity, h, m, h + m == 0 ? 0.0 : 100.0 * h / (h + m), getEvictionCount());
+    }
+
+    private static final class Entry<K, V> {
+        final K key;
+        final V value;
+        volatile boolean referenced;
+
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
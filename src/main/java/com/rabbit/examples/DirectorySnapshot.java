@@ -0,0 +1,339 @@
+package com.rabbit.examples;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Remembers size, modification time and file key of every entry of the watched directories,
+ * so that a directory whose events were lost can be rescanned and compared against what was
+ * known, instead of rescanning the whole tree. Each directory's entries are kept in parallel
+ * arrays with an open-addressing index, roughly 60 bytes per entry plus its name, half of it
+ * the file key (device and inode on Unix) that tells a replaced file from a modified one.
+ */
+public class DirectorySnapshot {
+
+    // below this many entries statting them one by one is cheaper than forking
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final ConcurrentHashMap<Path, Listing> listings;
+
+    public DirectorySnapshot(int expectedDirectories) {
+        this.listings = new ConcurrentHashMap<>(expectedDirectories);
+    }
+
+    /**
+     * Records the current contents of a directory, replacing anything known about it.
+     *
+     * @return the directory's subdirectories, so tree walkers need not list it a second time
+     */
+    public List<Path> snapshot(Path dir) throws IOException {
+        Listing listing = Listing.scan(dir);
+        listings.put(dir, listing);
+        List<Path> subdirectories = new ArrayList<>();
+        for (int i = 0; i < listing.size; i++) {
+            if (listing.directories[i]) {
+                subdirectories.add(dir.resolve(listing.names[i]));
+            }
+        }
+        return subdirectories;
+    }
+
+    /**
+     * Forgets a directory and every directory below it. The subtree is found through the
+     * listings' own subdirectory entries, so this costs the size of the subtree, not of the
+     * snapshot.
+     */
+    public void forget(Path dir) {
+        Deque<Path> pending = new ArrayDeque<>();
+        pending.push(dir);
+        while (!pending.isEmpty()) {
+            Path next = pending.pop();
+            Listing listing = listings.remove(next);
+            if (listing == null) {
+                continue;
+            }
+            for (int i = 0; i < listing.size; i++) {
+                if (listing.directories[i]) {
+                    pending.push(next.resolve(listing.names[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Brings a single entry up to date after an event was received for it.
+     */
+    public void update(Path child) {
+        Listing listing = listings.get(child.getParent());
+        if (listing == null) {
+            return;
+        }
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(child, BasicFileAttributes.class, NOFOLLOW_LINKS);
+            listing.put(child.getFileName().toString(), attrs);
+        } catch (IOException e) {
+            listing.remove(child.getFileName().toString());
+        }
+    }
+
+    /**
+     * Rescans a directory, statting its entries in parallel, and reports how it differs from the
+     * snapshot as the events that would have been delivered. The snapshot is updated to match.
+     */
+    public List<Event> rescan(Path dir) throws IOException {
+        Listing fresh;
+        try {
+            fresh = Listing.scan(dir);
+        } catch (NoSuchFileException e) {
+            // the directory itself is gone, its parent reports that
+            forget(dir);
+            return new ArrayList<>();
+        }
+        Listing previous = listings.put(dir, fresh);
+        List<Event> events = new ArrayList<>();
+        if (previous == null) {
+            previous = new Listing(0);
+        }
+
+        for (int i = 0; i < fresh.size; i++) {
+            int slot = previous.find(fresh.names[i]);
+            if (slot < 0) {
+                events.add(new Event(dir.resolve(fresh.names[i]), ENTRY_CREATE));
+            } else if (!Listing.sameFile(previous, slot, fresh, i)) {
+                // same name, different file: it was replaced
+                if (previous.directories[slot]) {
+                    forget(dir.resolve(fresh.names[i]));
+                }
+                events.add(new Event(dir.resolve(fresh.names[i]), ENTRY_DELETE));
+                events.add(new Event(dir.resolve(fresh.names[i]), ENTRY_CREATE));
+            } else if (!fresh.directories[i]
+                    && (previous.sizes[slot] != fresh.sizes[i] || previous.mtimes[slot] != fresh.mtimes[i])) {
+                // a directory's own timestamp only moves when its entries change, and those are
+                // reported by scanning it
+                events.add(new Event(dir.resolve(fresh.names[i]), ENTRY_MODIFY));
+            }
+        }
+        for (int i = 0; i < previous.size; i++) {
+            if (fresh.find(previous.names[i]) < 0) {
+                if (previous.directories[i]) {
+                    forget(dir.resolve(previous.names[i]));
+                }
+                events.add(new Event(dir.resolve(previous.names[i]), ENTRY_DELETE));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * @return number of entries recorded for the directory, or -1 if it is not in the snapshot.
+     */
+    public int size(Path dir) {
+        Listing listing = listings.get(dir);
+        return listing == null ? -1 : listing.size;
+    }
+
+    /**
+     * @return true if the snapshot records the entry as a directory.
+     */
+    public boolean isDirectory(Path child) {
+        Listing listing = listings.get(child.getParent());
+        if (listing == null) {
+            return false;
+        }
+        int slot = listing.find(child.getFileName().toString());
+        return slot >= 0 && listing.directories[slot];
+    }
+
+    /**
+     * The entries of one directory. Slots 0..size-1 are dense; {@code index} maps a name's hash
+     * to slot + 1, with 0 marking an empty bucket.
+     */
+    static final class Listing {
+        String[] names;
+        long[] sizes;
+        long[] mtimes;
+        // the file keys, and their hashes to tell most different files apart without a call
+        Object[] fileKeys;
+        int[] keyHashes;
+        boolean[] directories;
+        int size;
+        int[] index;
+
+        Listing(int capacity) {
+            int slots = Math.max(4, capacity);
+            names = new String[slots];
+            sizes = new long[slots];
+            mtimes = new long[slots];
+            fileKeys = new Object[slots];
+            keyHashes = new int[slots];
+            directories = new boolean[slots];
+            index = new int[tableSizeFor(slots)];
+        }
+
+        static Listing scan(final Path dir) throws IOException {
+            List<String> entries = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+                for (Path entry : stream) {
+                    entries.add(entry.getFileName().toString());
+                }
+            }
+
+            final String[] names = entries.toArray(new String[0]);
+            final BasicFileAttributes[] attrs = new BasicFileAttributes[names.length];
+            IntStream range = IntStream.range(0, names.length);
+            if (names.length >= PARALLEL_THRESHOLD) {
+                range = range.parallel();
+            }
+            range.forEach(i -> {
+                try {
+                    attrs[i] = Files.readAttributes(dir.resolve(names[i]), BasicFileAttributes.class, NOFOLLOW_LINKS);
+                } catch (IOException e) {
+                    // vanished between listing and stat
+                }
+            });
+
+            Listing listing = new Listing(names.length);
+            for (int i = 0; i < names.length; i++) {
+                if (attrs[i] != null) {
+                    listing.put(names[i], attrs[i]);
+                }
+            }
+            return listing;
+        }
+
+        /**
+         * @return true if the two entries are the same file, or if the file system has no
+         *         file keys to tell
+         */
+        static boolean sameFile(Listing a, int slotA, Listing b, int slotB) {
+            return a.keyHashes[slotA] == b.keyHashes[slotB] && Objects.equals(a.fileKeys[slotA], b.fileKeys[slotB]);
+        }
+
+        int find(String name) {
+            int bucket = bucketOf(name);
+            return bucket < 0 ? -1 : index[bucket] - 1;
+        }
+
+        private int bucketOf(String name) {
+            int mask = index.length - 1;
+            for (int bucket = name.hashCode() & mask;; bucket = (bucket + 1) & mask) {
+                int slot = index[bucket] - 1;
+                if (slot < 0) {
+                    return -1;
+                }
+                if (names[slot].equals(name)) {
+                    return bucket;
+                }
+            }
+        }
+
+        void put(String name, BasicFileAttributes attrs) {
+            int slot = find(name);
+            if (slot < 0) {
+                if (size == names.length) {
+                    grow();
+                }
+                slot = size++;
+                names[slot] = name;
+                insert(name, slot);
+            }
+            sizes[slot] = attrs.size();
+            mtimes[slot] = attrs.lastModifiedTime().toMillis();
+            Object fileKey = attrs.fileKey();
+            fileKeys[slot] = fileKey;
+            keyHashes[slot] = fileKey == null ? 0 : fileKey.hashCode();
+            directories[slot] = attrs.isDirectory();
+        }
+
+        void remove(String name) {
+            int bucket = bucketOf(name);
+            if (bucket < 0) {
+                return;
+            }
+            int slot = index[bucket] - 1;
+            unlink(bucket);
+
+            int last = --size;
+            if (slot != last) {
+                // keep slots dense by moving the last entry into the hole
+                index[bucketOf(names[last])] = slot + 1;
+                names[slot] = names[last];
+                sizes[slot] = sizes[last];
+                mtimes[slot] = mtimes[last];
+                fileKeys[slot] = fileKeys[last];
+                keyHashes[slot] = keyHashes[last];
+                directories[slot] = directories[last];
+            }
+            names[last] = null;
+            fileKeys[last] = null;
+        }
+
+        /**
+         * Empties a bucket, shifting later entries of the probe sequence back so lookups
+         * never stop early at the hole.
+         */
+        private void unlink(int hole) {
+            int mask = index.length - 1;
+            index[hole] = 0;
+            for (int next = (hole + 1) & mask; index[next] != 0; next = (next + 1) & mask) {
+                int home = names[index[next] - 1].hashCode() & mask;
+                boolean reachable = hole <= next ? (hole < home && home <= next) : (hole < home || home <= next);
+                if (!reachable) {
+                    index[hole] = index[next];
+                    index[next] = 0;
+                    hole = next;
+                }
+            }
+        }
+
+        private void insert(String name, int slot) {
+            int mask = index.length - 1;
+            int bucket = name.hashCode() & mask;
+            while (index[bucket] != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+            index[bucket] = slot + 1;
+        }
+
+        private void grow() {
+            int capacity = names.length * 2;
+            names = Arrays.copyOf(names, capacity);
+            sizes = Arrays.copyOf(sizes, capacity);
+            mtimes = Arrays.copyOf(mtimes, capacity);
+            fileKeys = Arrays.copyOf(fileKeys, capacity);
+            keyHashes = Arrays.copyOf(keyHashes, capacity);
+            directories = Arrays.copyOf(directories, capacity);
+            index = new int[tableSizeFor(capacity)];
+            rebuildIndex();
+        }
+
+        private void rebuildIndex() {
+            Arrays.fill(index, 0);
+            for (int slot = 0; slot < size; slot++) {
+                insert(names[slot], slot);
+            }
+        }
+
+        private static int tableSizeFor(int capacity) {
+            // power of two, at most half full
+            return Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.rabbit.examples;
+
+/**
+ * Watches a directory (or tree) and publishes what changes to an {@link EventSink}.
+ */
+public interface DirectoryWatcher {
+
+    /**
+     * Publishes events until the watched directories are gone or the thread is interrupted.
+     */
+    void processEvents() throws InterruptedException;
+}
@@ -0,0 +1,35 @@
+package com.rabbit.examples;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+
+/**
+ * A single change reported by {@link WatchDir}: the affected path and the kind of change.
+ */
+public class Event {
+	Path path;
+	WatchEvent.Kind kind;
+	// System.nanoTime() when the watcher received it, for measuring how far behind consumers are
+	long receivedNanos;
+	public Event(final Path path, final WatchEvent.Kind kind) {
+		this(path, kind, System.nanoTime());
+	}
+	public Event(final Path path, final WatchEvent.Kind kind, final long receivedNanos) {
+		this.path = path;
+		this.kind = kind;
+		this.receivedNanos = receivedNanos;
+	}
+	public Path getPath() {
+		return path;
+	}
+	public WatchEvent.Kind getKind() {
+		return kind;
+	}
+	public long getReceivedNanos() {
+		return receivedNanos;
+	}
+	@Override
+	public String toString() {
+		return "Event [path=" + path + ", kind=" + kind + "]";
+	}
+}
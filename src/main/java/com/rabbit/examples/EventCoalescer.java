@@ -0,0 +1,272 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Merges bursts of events for the same path before they reach the consumers. An event is held
+ * back until its path has been quiet for the configured window; in the meantime further events
+ * for the path are folded into it, e.g. create + modify + modify becomes a single create, and
+ * create + delete cancels out entirely. Quiet paths are handed downstream in batches. A path
+ * that never goes quiet, such as a log being appended to, is delivered anyway once its first
+ * event has been held for the maximum hold time, and coalescing starts over.
+ * <p>
+ * Events are taken out of the pending map and delivered under one delivery lock, whichever
+ * thread does it, so two events for a path reach the consumers in the order they were taken.
+ * The watcher only waits for a slow delivery when it has to push overflow out itself.
+ */
+public class EventCoalescer implements EventSink {
+
+    private final EventSink downstream;
+    private final long quietNanos;
+    private final long maxHoldNanos;
+    private final int maxPending;
+
+    // ordered by the last time each path was touched, so the quiet ones are at the head
+    private final LinkedHashMap<Path, Pending> pending = new LinkedHashMap<>(1024, 0.75f, true);
+    // the same entries ordered by when they were created, so the overdue ones are at the head;
+    // entries already taken out of pending are dropped when they reach the head
+    private final ArrayDeque<Pending> byFirstSeen = new ArrayDeque<>();
+    // held from taking events out of pending until they are delivered; taken before pending's lock
+    private final Object delivering = new Object();
+
+    private final AtomicLong raw = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong cancelled = new AtomicLong();
+
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    /**
+     * Holds events for at most ten quiet windows.
+     *
+     * @param quietMillis how long a path must go without events before its event is delivered
+     * @param maxPending  number of held-back paths beyond which the oldest are delivered early
+     */
+    public EventCoalescer(EventSink downstream, long quietMillis, int maxPending) {
+        this(downstream, quietMillis, 10 * quietMillis, maxPending);
+    }
+
+    /**
+     * @param quietMillis   how long a path must go without events before its event is delivered
+     * @param maxHoldMillis how long after its first event a path is delivered even if it is
+     *                      still busy
+     * @param maxPending    number of held-back paths beyond which the oldest are delivered early
+     */
+    public EventCoalescer(EventSink downstream, long quietMillis, long maxHoldMillis, int maxPending) {
+        if (maxHoldMillis < quietMillis) {
+            throw new IllegalArgumentException("The maximum hold time is shorter than the quiet window");
+        }
+        this.downstream = downstream;
+        this.quietNanos = TimeUnit.MILLISECONDS.toNanos(quietMillis);
+        this.maxHoldNanos = TimeUnit.MILLISECONDS.toNanos(maxHoldMillis);
+        this.maxPending = maxPending;
+        final long tickMillis = Math.max(1, quietMillis / 2);
+        this.flusher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (!closed) {
+                    try {
+                        Thread.sleep(tickMillis);
+                        flushQuiet(System.nanoTime());
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "watch-coalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @Override
+    public void publish(Event event) throws InterruptedException {
+        raw.incrementAndGet();
+        boolean overflowed;
+        synchronized (pending) {
+            Pending previous = pending.get(event.getPath());
+            if (previous == null) {
+                Pending created = new Pending(event.getPath(), event.getKind(), event.getReceivedNanos(), System.nanoTime());
+                pending.put(event.getPath(), created);
+                byFirstSeen.add(created);
+            } else if (previous.merge(event.getKind(), System.nanoTime())) {
+                pending.remove(event.getPath());
+                previous.taken = true;
+                cancelled.incrementAndGet();
+            }
+            overflowed = pending.size() > maxPending;
+        }
+        if (overflowed) {
+            synchronized (delivering) {
+                List<Event> overflow = new ArrayList<>();
+                synchronized (pending) {
+                    takeEldest(pending.size() - maxPending, overflow);
+                }
+                deliver(overflow);
+            }
+        }
+    }
+
+    /**
+     * Delivers the events of all paths that have been quiet since before {@code now - window},
+     * and of those first seen before {@code now - maxHold}.
+     */
+    void flushQuiet(long now) throws InterruptedException {
+        synchronized (delivering) {
+            List<Event> batch = new ArrayList<>();
+            synchronized (pending) {
+                Iterator<Map.Entry<Path, Pending>> it = pending.entrySet().iterator();
+                while (it.hasNext()) {
+                    Map.Entry<Path, Pending> entry = it.next();
+                    if (now - entry.getValue().lastSeen < quietNanos) {
+                        break;
+                    }
+                    entry.getValue().emit(batch);
+                    it.remove();
+                }
+                for (Pending oldest; (oldest = byFirstSeen.peek()) != null; byFirstSeen.poll()) {
+                    if (oldest.taken) {
+                        continue;
+                    }
+                    if (now - oldest.firstSeen < maxHoldNanos) {
+                        break;
+                    }
+                    oldest.emit(batch);
+                    pending.remove(oldest.path);
+                }
+            }
+            deliver(batch);
+        }
+    }
+
+    /**
+     * Stops the background flush and delivers everything still held back.
+     */
+    public void close() throws InterruptedException {
+        closed = true;
+        flusher.interrupt();
+        flusher.join();
+        synchronized (delivering) {
+            List<Event> batch = new ArrayList<>();
+            synchronized (pending) {
+                takeEldest(pending.size(), batch);
+            }
+            deliver(batch);
+        }
+    }
+
+    private void takeEldest(int count, List<Event> into) {
+        Iterator<Map.Entry<Path, Pending>> it = pending.entrySet().iterator();
+        for (int i = 0; i < count && it.hasNext(); i++) {
+            it.next().getValue().emit(into);
+            it.remove();
+        }
+    }
+
+    private void deliver(List<Event> batch) throws InterruptedException {
+        if (!batch.isEmpty()) {
+            delivered.addAndGet(batch.size());
+            downstream.publishAll(batch);
+        }
+    }
+
+    /**
+     * @return events received from the watcher.
+     */
+    public long getRawCount() {
+        return raw.get();
+    }
+
+    /**
+     * @return events handed downstream after merging.
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * @return paths whose events cancelled out, e.g. a temporary file created and deleted.
+     */
+    public long getCancelledCount() {
+        return cancelled.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EventCoalescer [raw=%d, delivered=%d, cancelled=%d]",
+                getRawCount(), getDeliveredCount(), getCancelledCount());
+    }
+
+    /**
+     * The net effect of the events seen for one path so far.
+     */
+    private static class Pending {
+        final Path path;
+        WatchEvent.Kind<?> kind;
+        // deleted and then created again: consumers must drop what they had before re-reading it
+        boolean replaced;
+        // merged events keep the time the first of them was received, so the wait shows up as latency
+        final long receivedNanos;
+        final long firstSeen;
+        long lastSeen;
+        // delivered or cancelled, so no longer in pending
+        boolean taken;
+
+        Pending(Path path, WatchEvent.Kind<?> kind, long receivedNanos, long firstSeen) {
+            this.path = path;
+            this.kind = kind;
+            this.receivedNanos = receivedNanos;
+            this.firstSeen = firstSeen;
+            this.lastSeen = firstSeen;
+        }
+
+        /**
+         * Folds a later event into this one.
+         *
+         * @return true if the two cancel out and nothing needs to be delivered
+         */
+        boolean merge(WatchEvent.Kind<?> next, long now) {
+            lastSeen = now;
+            if (next == ENTRY_DELETE) {
+                if (kind == ENTRY_CREATE && !replaced) {
+                    return true;
+                }
+                kind = ENTRY_DELETE;
+                replaced = false;
+            } else if (next == ENTRY_CREATE) {
+                if (kind == ENTRY_DELETE) {
+                    replaced = true;
+                }
+                kind = ENTRY_CREATE;
+            } else if (next == ENTRY_MODIFY) {
+                if (kind == ENTRY_DELETE) {
+                    kind = ENTRY_MODIFY;
+                }
+                // create + modify stays a create, modify + modify stays a modify
+            } else {
+                kind = next;
+            }
+            return false;
+        }
+
+        void emit(List<Event> into) {
+            taken = true;
+            if (replaced) {
+                into.add(new Event(path, ENTRY_DELETE, receivedNanos));
+            }
+            into.add(new Event(path, kind, receivedNanos));
+        }
+    }
+}
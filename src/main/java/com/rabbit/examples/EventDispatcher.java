@@ -0,0 +1,155 @@
+package com.rabbit.examples;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Hands events to an {@link EventHandler} on a fixed pool of worker threads. Each event is
+ * routed to a worker by the hash of its path, so all events for one path are handled by the
+ * same worker in the order they were published, while different paths proceed in parallel.
+ * Every worker has a bounded queue; when it is full {@link #publish(Event)} blocks, which
+ * slows the watch loop down instead of letting the backlog grow without limit.
+ */
+public class EventDispatcher implements EventSink {
+
+    private static final Event SHUTDOWN = new Event(null, null);
+
+    private final EventHandler handler;
+    private final PipelineMetrics metrics;
+    private final BlockingQueue<Event>[] queues;
+    private final Thread[] workers;
+
+    public EventDispatcher(int workerCount, int queueCapacity, EventHandler handler) {
+        this(workerCount, queueCapacity, handler, null);
+    }
+
+    /**
+     * @param metrics records queueing and handling latency of every event and is given the
+     *                queue depth, may be null
+     */
+    @SuppressWarnings("unchecked")
+    public EventDispatcher(int workerCount, int queueCapacity, EventHandler handler, PipelineMetrics metrics) {
+        if (workerCount < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("workerCount and queueCapacity must be positive");
+        }
+        this.handler = handler;
+        this.metrics = metrics;
+        this.queues = new BlockingQueue[workerCount];
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues[i] = queue;
+            workers[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    drain(queue);
+                }
+            }, "watch-dispatch-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+        if (metrics != null) {
+            metrics.setQueueDepth(this::getQueuedCount);
+        }
+    }
+
+    /**
+     * Queues the event on its path's worker, blocking while that worker's queue is full.
+     */
+    @Override
+    public void publish(Event event) throws InterruptedException {
+        queues[stripe(event)].put(event);
+    }
+
+    /**
+     * @return the number of events queued but not yet taken by a worker.
+     */
+    public int getQueuedCount() {
+        int queued = 0;
+        for (BlockingQueue<Event> queue : queues) {
+            queued += queue.size();
+        }
+        return queued;
+    }
+
+    /**
+     * Queues a barrier behind every worker's backlog and waits until all workers have
+     * reached it.
+     */
+    @Override
+    public void flush() throws InterruptedException {
+        Barrier barrier = new Barrier(queues.length);
+        for (BlockingQueue<Event> queue : queues) {
+            queue.put(barrier);
+        }
+        barrier.await();
+    }
+
+    /**
+     * Lets the workers finish what is already queued, then stops them.
+     */
+    public void shutdown() throws InterruptedException {
+        for (BlockingQueue<Event> queue : queues) {
+            queue.put(SHUTDOWN);
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+    }
+
+    private static final class Barrier extends Event {
+        private final CountDownLatch remaining;
+
+        Barrier(int workers) {
+            super(null, null);
+            this.remaining = new CountDownLatch(workers);
+        }
+
+        void countDown() {
+            remaining.countDown();
+        }
+
+        void await() throws InterruptedException {
+            remaining.await();
+        }
+    }
+
+    private int stripe(Event event) {
+        int h = event.getPath().hashCode();
+        // spread the bits, path hashes of siblings differ mostly in the low ones
+        h ^= (h >>> 16);
+        return (h & 0x7fffffff) % queues.length;
+    }
+
+    private void drain(BlockingQueue<Event> queue) {
+        for (;;) {
+            Event event;
+            try {
+                event = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (event == SHUTDOWN) {
+                return;
+            }
+            if (event instanceof Barrier) {
+                ((Barrier) event).countDown();
+                continue;
+            }
+            long dequeued = System.nanoTime();
+            if (metrics != null) {
+                metrics.dequeued(event, dequeued);
+            }
+            try {
+                handler.handle(event);
+            } catch (Exception e) {
+                System.err.format("Failed to handle %s\n", event);
+                e.printStackTrace();
+            }
+            if (metrics != null) {
+                metrics.handled(dequeued, System.nanoTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.rabbit.examples;
+
+/**
+ * Processes events handed out by an {@link EventDispatcher}. Calls for the same path are
+ * always made from the same thread and in the order the events were published; calls for
+ * different paths may run concurrently.
+ */
+public interface EventHandler {
+
+    void handle(Event event) throws Exception;
+}
@@ -0,0 +1,29 @@
+package com.rabbit.examples;
+
+import java.util.List;
+
+/**
+ * Receives the events produced by a watcher. Implementations may block to push back on a
+ * producer that is running ahead of its consumers.
+ */
+public interface EventSink {
+
+    void publish(Event event) throws InterruptedException;
+
+    /**
+     * Receives a batch of events in order. Sinks that can do better than one call per event
+     * override this.
+     */
+    default void publishAll(List<Event> events) throws InterruptedException {
+        for (Event event : events) {
+            publish(event);
+        }
+    }
+
+    /**
+     * Waits until every event published so far has been handled, not merely queued. Sinks
+     * that hand events to other threads override this; for the others publishing is handling.
+     */
+    default void flush() throws InterruptedException {
+    }
+}
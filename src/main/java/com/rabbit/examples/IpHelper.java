@@ -7,24 +7,16 @@
 
 package com.rabbit.examples;
 
-import java.lang.reflect.Method;
-import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.nio.ByteBuffer;
-import java.util.BitSet;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Logger;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+
+import com.rabbit.examples.ip.IpParser;
+import com.rabbit.examples.ip.Subnets;
 
 /**
- * Utilities to deal with IP addresses. There is some reflection in here to use some internal Java
- * methods. This avoids the un-supressable warnings generated during compilation. There are also
- * fallbacks in case these aren't available. User: harrison Date: 9/5/13
+ * Utilities to deal with IP addresses. Literal addresses are recognised by {@link IpParser},
+ * so nothing in here ever does a DNS lookup. User: harrison Date: 9/5/13
  */
 public class IpHelper {
-    private static final Logger LOGGER = Logger.getLogger(IpHelper.class.getSimpleName());
 
     // CIDR notation.
     public static String PREFIX_LENGTH_SEP = "/";
@@ -32,46 +24,15 @@ public class IpHelper {
     private IpHelper() {
     }
 
-    private static Method getIPv6Bytes;
-    private static Method getIPv4Bytes;
-    static {
-        setProprietaryMethods();
-    }
-
-    private static Pattern IPV$_ADDRESS_PATTERN = Pattern
-            .compile("^([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
-                    "([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
-                    "([01]?\\d\\d?|2[0-4]\\d|25[0-5])\\." +
-                    "([01]?\\d\\d?|2[0-4]\\d|25[0-5])$");
+    // how many inputs of makeCanonicalAddress to remember, override with
+    // -Diphelper.canonicalCacheSize, 0 turns the cache off
+    static final int CANONICAL_CACHE_SIZE = Integer.getInteger("iphelper.canonicalCacheSize", 4096);
 
-    private final static ConcurrentHashMap<String, String> CANONICAL_ADDRESS_MAP =
-            new ConcurrentHashMap<>();
+    private final static ClockCache<String, String> CANONICAL_ADDRESS_CACHE =
+            new ClockCache<>(CANONICAL_CACHE_SIZE);
 
-    /**
-     * Sets up the reflected methods for parsing the ips. Reflection is used here because these are
-     * internal Sun/Oracle interfaces and the javac compiler sprays warnings that are not
-     * suppressable. In the event that we upgrade or these methods are not available there are
-     * fallbacks in this class attempt to use the public API.
-     */
-    private static void setProprietaryMethods() {
-        try {
-            Class<?> c = Class.forName("sun.net.util.IPAddressUtil");
-            getIPv6Bytes = c.getDeclaredMethod("textToNumericFormatV6",
-                    String.class);
-        } catch (Exception t) {
-            getIPv6Bytes = null;
-            LOGGER.severe("Couldn't set ipv6 parser: " + t.getMessage());
-        }
-
-        try {
-            Class<?> c = Class.forName("sun.net.util.IPAddressUtil");
-            getIPv4Bytes = c.getDeclaredMethod("textToNumericFormatV4",
-                    String.class);
-        } catch (Exception t) {
-            getIPv4Bytes = null;
-            LOGGER.severe("Couldn't set ipv4 parser: " + t.getMessage());
-        }
-    }
+    // scratch for the two halves of an IPv6 address, so checks do not allocate
+    private static final ThreadLocal<long[]> IPV6_SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
 
     /**
      * @param hostname hostname to check.
@@ -82,78 +43,41 @@ public class IpHelper {
     }
 
     /**
-     * @param src a String representing an IPv6 address in textual format
+     * @param src a String representing an IPv6 address in textual format, optionally in
+     *            brackets and surrounded by white space
      * @return a boolean indicating whether src is an IPv6 literal address
      */
     public static boolean checkIsIpV6Address(String src) {
         // Insist that the address contains at least a colon before moving on.
-        // We are trying to prevent a domain name lookup here by doing some
-        // pre-checks.
-        if (null == src || 2 > src.length() || !src.contains(":")) {
+        if (null == src || 2 > src.length() || src.indexOf(':') < 0) {
             return false;
         }
-
-        // Trim white space and brackets.
-        src = src.trim();
-        if (src.startsWith("[") && src.endsWith("]")) {
-            src = src.substring(1, src.length() - 1);
-        }
-
-        if (null != getIPv6Bytes) {
-            try {
-                return null != getIPv6Bytes.invoke(null, src);
-            } catch (Exception t) {
-                // Should not throw here unless some reflection failed.
-                throw new RuntimeException(t);
-            }
-        }
-
-        return false;
+        return IpParser.parseIpv6(src, trimStart(src), trimEnd(src), IPV6_SCRATCH.get());
     }
 
     /**
-     * From http://www.mkyong.com/regular-expressions/how-to-validate-ip-address-with-regular-
-     * expression/ Checks for decimal dot notation ipv4 addresses. There is no built-in JRE class
-     * for this, that does NOT do a DNS resolution. Google Guava library would be the next best
-     * thing to use
+     * Checks for strict decimal dot notation ipv4 addresses: four numbers from 0 to 255. The
+     * shorthand forms {@code InetAddress} also accepts, like {@code 10.1} or {@code 167772161},
+     * are not addresses here.
      *
-     * @param src address to check.
+     * @param src address to check, surrounding white space is ignored.
      * @return true if literal ipv4 address.
      */
     public static boolean checkIsIpV4Address(String src) {
         if (src == null || src.isEmpty()) {
             return false;
         }
-
-        src = src.trim();
-        if ((src.length() < 6) & (src.length() > 15)) {
-            return false;
-        }
-
-        if (null != getIPv4Bytes) {
-            try {
-                return null != getIPv4Bytes.invoke(null, src);
-            } catch (Exception t) {
-                // Should not throw here unless some reflection failed.
-                log(t.getMessage(), src);
-                return false;
-            }
-        } else {
-            try {
-                Matcher matcher = IPV$_ADDRESS_PATTERN.matcher(src);
-                return matcher.matches();
-            } catch (PatternSyntaxException ex) {
-                return false;
-            }
-        }
+        return IpParser.parseIpv4(src, trimStart(src), trimEnd(src)) != IpParser.INVALID;
     }
 
     /**
      * Canonicalizes an IPv4 or IPv6 address from a string. Primarily used to allow string
-     * comparisons of addresses. IP addresses will be fully expanded.
+     * comparisons of addresses. IP addresses will be fully expanded, IPv4-mapped IPv6
+     * addresses become plain IPv4.
      *
      * @param address address to canonicalize.
-     * @return if literal IP then the canonicalized form of the IP, else the input
+     * @return if literal IP then the canonicalized form of the IP, else the trimmed input
+     *         without brackets
      */
     public static String makeCanonicalAddress(final String address) {
 
@@ -169,53 +93,53 @@ public class IpHelper {
             return address;
         }
 
-        String previousAddress = CANONICAL_ADDRESS_MAP.get(address);
+        String previousAddress = CANONICAL_ADDRESS_CACHE.get(address);
         if (previousAddress != null) {
             return previousAddress;
         }
 
-        // IPv4, no domain resolution!
-        if (null != getIPv4Bytes) {
-            // IPv4
-            try {
-                byte[] src = (byte[]) getIPv4Bytes.invoke(null, address);
-                if (null != src) {
-                    String canonicalAddress = InetAddress.getByAddress(src).getHostAddress();
-                    CANONICAL_ADDRESS_MAP.put(address, canonicalAddress);
-                    return canonicalAddress;
-                }
-            } catch (Exception t) {
-                // Should not throw here unless some reflection failed.
-                log(t.getMessage(), address);
-            }
-        }
+        int from = trimStart(address);
+        int to = trimEnd(address);
 
-        // IPv6 - Strip leading and trailing brackets if necessary.
-        String trimmedAddress = address.trim();
-        if (trimmedAddress.startsWith("[") && trimmedAddress.endsWith("]")) {
-            trimmedAddress = trimmedAddress.substring(1, trimmedAddress.length() - 1);
+        // IPv4, no domain resolution!
+        long ipv4 = IpParser.parseIpv4(address, from, to);
+        if (ipv4 != IpParser.INVALID) {
+            String canonicalAddress = IpParser.appendIpv4(new StringBuilder(15), ipv4).toString();
+            CANONICAL_ADDRESS_CACHE.put(address, canonicalAddress);
+            return canonicalAddress;
         }
 
         // IPv6, no domain resolution!
-        if (null != getIPv6Bytes) {
-            try {
-                byte[] src = (byte[]) getIPv6Bytes.invoke(null, trimmedAddress);
-                if (null != src) {
-                    String canonicalAddress = InetAddress.getByAddress(src).getHostAddress();
-                    CANONICAL_ADDRESS_MAP.put(address, canonicalAddress);
-                    return canonicalAddress;
-                }
-            } catch (Exception t) {
-                // Should not throw here unless some reflection failed.
-                log(t.getMessage(), trimmedAddress);
+        long[] ipv6 = IPV6_SCRATCH.get();
+        if (IpParser.parseIpv6(address, from, to, ipv6)) {
+            StringBuilder sb = new StringBuilder(39);
+            if (IpParser.isIpv4Mapped(ipv6[0], ipv6[1])) {
+                IpParser.appendIpv4(sb, ipv6[1] & 0xffffffffL);
+            } else {
+                IpParser.appendIpv6(sb, ipv6[0], ipv6[1]);
             }
+            String canonicalAddress = sb.toString();
+            CANONICAL_ADDRESS_CACHE.put(address, canonicalAddress);
+            return canonicalAddress;
         }
 
         /*
-         * Final catch-all. By now, we failed to resolute either an IPv4 or IPv6 address. We try to
-         * avoid a domain name lookup, so just return what we've got.
+         * Final catch-all. Not a literal IPv4 or IPv6 address. We try to avoid a domain name
+         * lookup, so just return what we've got, less white space and brackets.
          */
-        return trimmedAddress;
+        if (to - from >= 2 && address.charAt(from) == '[' && address.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        return address.substring(from, to);
+    }
+
+    /**
+     * @return the cache behind {@link #makeCanonicalAddress(String)}, for its hit, miss and
+     *         eviction counts
+     */
+    public static ClockCache<String, String> getCanonicalAddressCache() {
+        return CANONICAL_ADDRESS_CACHE;
     }
 
     /**
@@ -241,10 +165,6 @@ public class IpHelper {
         return addressOne.equals(addressTwo);
     }
 
-    private static void log(String message, String input) {
-        LOGGER.severe(message + " for address " + input);
-    }
-
     /**
      * Truncates an IP Address if there is a routing prefix using CIDR notation ('/' at the end). No
      * checking of address is done, simply string search and truncate.
@@ -278,69 +198,98 @@ public class IpHelper {
         return address.substring(slashIndex + 1);
     }
 
+    /**
+     * @param cidrAddress an IPv4 or IPv6 address in CIDR notation
+     * @return the netmask of the prefix, as a dotted quad or eight hex groups
+     */
     public static String getNetmaskAddress(String cidrAddress) throws IllegalArgumentException,
             UnknownHostException {
         String address = trimCIDR(cidrAddress);
         int prefixLength = Integer.parseInt(trimPrefix(cidrAddress));
 
-        ByteBuffer bb;
         if (checkIsIpV4Address(address)) {
-            bb = ByteBuffer.allocate(4);
-        } else if (checkIsIpV6Address(address)) {
-            bb = ByteBuffer.allocate(16);
-
-        } else {
-            throw new IllegalArgumentException("Invalid IP Address, not ipv4 or ipv6.");
+            return IpParser.appendIpv4(new StringBuilder(15), Subnets.netmask(prefixLength) & 0xffffffffL)
+                    .toString();
         }
-
-        for (int i = 0; i < prefixLength;) {
-            byte b = 0x00;
-            for (int j = 0; j < 8 && i < prefixLength; j++, i++) {
-                b = (byte) ((b >> 1) | 0x80);
-            }
-            bb.put(b);
+        if (checkIsIpV6Address(address)) {
+            return IpParser.appendIpv6(new StringBuilder(39), Subnets.netmaskHigh(prefixLength),
+                    Subnets.netmaskLow(prefixLength)).toString();
         }
-
-        return InetAddress.getByAddress(bb.array()).getHostAddress();
-
+        throw new IllegalArgumentException("Invalid IP Address, not ipv4 or ipv6.");
     }
 
+    /**
+     * @return 4 bytes for an IPv4 or IPv4-mapped IPv6 address, 16 bytes for other IPv6
+     *         addresses
+     * @throws IllegalArgumentException if the input is not a literal IP address
+     */
     public static byte[] getAddressBytes(String ipAddress) throws Exception {
-        byte[] bytes = null;
-
-        IpVersion ipVersion = getIpVersion(ipAddress);
-
-        switch (ipVersion) {
-        case ipV4:
-            bytes = (byte[]) getIPv4Bytes.invoke(null, ipAddress);
-            break;
-        case ipV6:
-            bytes = (byte[]) getIPv6Bytes.invoke(null, ipAddress);
-            break;
+        long ipv4 = IpParser.parseIpv4(ipAddress);
+        if (ipv4 != IpParser.INVALID) {
+            return IpParser.toBytes(ipv4);
         }
-
-        return bytes;
+        long[] ipv6 = IPV6_SCRATCH.get();
+        if (!IpParser.parseIpv6(ipAddress, ipv6)) {
+            throw new IllegalArgumentException(ipAddress);
+        }
+        if (IpParser.isIpv4Mapped(ipv6[0], ipv6[1])) {
+            return IpParser.toBytes(ipv6[1] & 0xffffffffL);
+        }
+        return IpParser.toBytes(ipv6[0], ipv6[1]);
     }
 
+    /**
+     * @throws IllegalArgumentException if the input is not a literal IP address
+     */
     public static IpVersion getIpVersion(String ipAddress) throws Exception {
-
-        if (null == getIPv4Bytes.invoke(null, ipAddress)) {
-            if (null == getIPv6Bytes.invoke(null, ipAddress)) {
-                throw new IllegalArgumentException(ipAddress);
-            } else {
-                return IpVersion.ipV6;
-            }
-        } else {
+        if (IpParser.parseIpv4(ipAddress) != IpParser.INVALID) {
             return IpVersion.ipV4;
         }
+        if (IpParser.parseIpv6(ipAddress, IPV6_SCRATCH.get())) {
+            return IpVersion.ipV6;
+        }
+        throw new IllegalArgumentException(ipAddress);
+    }
+
+    private static int trimStart(String s) {
+        int from = 0;
+        while (from < s.length() && s.charAt(from) <= ' ') {
+            from++;
+        }
+        return from;
     }
 
+    private static int trimEnd(String s) {
+        int to = s.length();
+        while (to > 0 && s.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+
+    /**
+     * @param subnetMask a literal IPv4 or IPv6 netmask; it is never resolved as a host name
+     * @return the address followed by the prefix length of the mask
+     * @throws UnknownHostException if the mask is not a literal address
+     * @throws IllegalArgumentException if the ones of the mask are not contiguous
+     */
     public static String formatCIDR(String ipAddress, String subnetMask)
             throws UnknownHostException {
-        int subnetPrefix = 0;
-        InetAddress subnetAddr;
-        subnetAddr = InetAddress.getByName(subnetMask);
-        subnetPrefix = BitSet.valueOf(subnetAddr.getAddress()).cardinality();
+        int from = trimStart(subnetMask);
+        int to = trimEnd(subnetMask);
+        int subnetPrefix;
+        long ipv4Mask = IpParser.parseIpv4(subnetMask, from, to);
+        long[] ipv6Mask = IPV6_SCRATCH.get();
+        if (ipv4Mask != IpParser.INVALID) {
+            subnetPrefix = Subnets.prefixLength((int) ipv4Mask);
+        } else if (IpParser.parseIpv6(subnetMask, from, to, ipv6Mask)) {
+            subnetPrefix = Subnets.prefixLength(ipv6Mask[0], ipv6Mask[1]);
+        } else {
+            throw new UnknownHostException(subnetMask + ": not a literal netmask");
+        }
+        if (subnetPrefix < 0) {
+            throw new IllegalArgumentException("Invalid netmask, ones not contiguous: " + subnetMask);
+        }
 
         return ipAddress + IpHelper.PREFIX_LENGTH_SEP + subnetPrefix;
     }
@@ -351,11 +300,11 @@ public class IpHelper {
     }
     
     public static void main(String[] args) {
-    	final String[] inputStrs = new String[] {"11111111", "10.218.25.25", "Hello, World"};
+    	final String[] inputStrs = new String[] {"11111111", "10.218.25.25", "[::ffff:10.218.25.25]", "fe80::1%eth0", "Hello, World"};
     	for (int ix = 0; ix < inputStrs.length; ix++) { 
-    		System.out.println(String.format("Approach.1: Input: [%s], Result: [%s]", inputStrs[ix], checkIsIpV4Address(inputStrs[ix])));
-    		System.out.println(String.format("Approach.2: Input: [%s], Result: [%s]", inputStrs[ix], IPV$_ADDRESS_PATTERN.matcher(inputStrs[ix]).matches()));
-    		System.out.println();
+    		System.out.println(String.format("Input: [%s], IPv4: [%s], IPv6: [%s], Canonical: [%s]", inputStrs[ix],
+    				checkIsIpV4Address(inputStrs[ix]), checkIsIpV6Address(inputStrs[ix]), makeCanonicalAddress(inputStrs[ix])));
     	}
+    	System.out.println(getCanonicalAddressCache());
 	}
 }
@@ -0,0 +1,117 @@
+package com.rabbit.examples;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of nanosecond latencies with log-linear buckets, in the manner of
+ * HdrHistogram: values below 256 get a bucket each, above that every power of two is split
+ * into 128 buckets, so any recorded value is reported within 1% of what it was. Recording is
+ * one atomic increment and never allocates, so it can sit on the hot path of every event.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int LINEAR_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF = LINEAR_BUCKETS / 2;
+    private static final int BUCKETS = LINEAR_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records one value. Negative values, from clocks read on different threads, count as zero.
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.max(0, nanos)));
+    }
+
+    /**
+     * Moves everything recorded so far into a new histogram, leaving this one empty, so a
+     * reporter can look at one interval at a time while recording carries on.
+     */
+    public LatencyHistogram snapshotAndReset() {
+        LatencyHistogram snapshot = new LatencyHistogram();
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts.get(i) != 0) {
+                snapshot.counts.set(i, counts.getAndSet(i, 0));
+            }
+        }
+        return snapshot;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the highest value that falls in the same bucket as the value at the percentile,
+     *         or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return highestValueOf(i);
+            }
+        }
+        return getMax();
+    }
+
+    public long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (counts.get(i) != 0) {
+                return highestValueOf(i);
+            }
+        }
+        return 0;
+    }
+
+    public double getMean() {
+        long count = 0;
+        double total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = counts.get(i);
+            if (n != 0) {
+                count += n;
+                total += n * (double) highestValueOf(i);
+            }
+        }
+        return count == 0 ? 0 : total / count;
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        // keep the top SUB_BUCKET_BITS bits, the shift says which power of two we are in
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return LINEAR_BUCKETS + (shift - 1) * HALF + (int) (value >>> shift) - HALF;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        int shift = (index - LINEAR_BUCKETS) / HALF + 1;
+        long subBucket = (index - LINEAR_BUCKETS) % HALF + HALF;
+        long highest = ((subBucket + 1) << shift) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p50=%.1f ms, p99=%.1f ms, p99.9=%.1f ms, max=%.1f ms (%d)",
+                getValueAtPercentile(50) / 1e6, getValueAtPercentile(99) / 1e6,
+                getValueAtPercentile(99.9) / 1e6, getMax() / 1e6, getCount());
+    }
+}
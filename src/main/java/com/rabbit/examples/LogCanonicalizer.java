@@ -0,0 +1,231 @@
+package com.rabbit.examples;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.rabbit.examples.io.AsciiSequence;
+import com.rabbit.examples.io.FileChunks;
+import com.rabbit.examples.ip.IpParser;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+import picocli.jansi.graalvm.AnsiConsole;
+
+/**
+ * Rewrites every IPv4 and IPv6 address in a log to the form
+ * {@link IpHelper#makeCanonicalAddress(String)} gives it, leaving all other bytes alone.
+ * <p>
+ * The file is cut into line-aligned chunks that a pool of threads canonicalizes in parallel.
+ * Tokens are parsed in place from the bytes and canonical forms are appended straight into a
+ * per-chunk output buffer, so no String is created per line or per address. Chunks are written
+ * out in file order, with at most two per thread in flight.
+ */
+@Command(name = "logcanon", mixinStandardHelpOptions = true,
+        version = "logcanon 1.0",
+        description = "Canonicalizes the IP addresses in a log file, reporting throughput on STDERR.")
+public class LogCanonicalizer implements Callable<Integer> {
+
+    // bytes that separate tokens; anything else, brackets included, is part of a token
+    private static final boolean[] DELIMITER = new boolean[256];
+
+    static {
+        for (char c : " \t\r\n\"',;=()".toCharArray()) {
+            DELIMITER[c] = true;
+        }
+    }
+
+    @Parameters(index = "0", description = "The log file to canonicalize.")
+    private File input;
+
+    @Option(names = {"-o", "--output"}, description = "Where to write the result, STDOUT by default.")
+    private File output;
+
+    @Option(names = {"-t", "--threads"}, description = "Worker threads, one per core by default.")
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    @Option(names = {"-c", "--chunk-size"}, description = "Nominal chunk size in KiB (default: ${DEFAULT-VALUE}).")
+    private int chunkKiB = 8192;
+
+    public static void main(String... args) {
+        int exitCode;
+        try (AnsiConsole ansi = AnsiConsole.windowsInstall()) {
+            exitCode = new CommandLine(new LogCanonicalizer()).execute(args);
+        }
+        System.exit(exitCode);
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        long start = System.nanoTime();
+        long lines;
+        if (output == null) {
+            lines = canonicalize(input.toPath(), System.out, threads, chunkKiB * 1024L);
+        } else {
+            try (OutputStream out = Files.newOutputStream(output.toPath())) {
+                lines = canonicalize(input.toPath(), out, threads, chunkKiB * 1024L);
+            }
+        }
+        double seconds = Math.max(System.nanoTime() - start, 1) / 1e9;
+        long bytes = input.length();
+        System.err.format("%d lines, %d bytes in %.3f s: %.0f lines/s, %.1f MB/s%n",
+                lines, bytes, seconds, lines / seconds, bytes / seconds / 1e6);
+        return 0;
+    }
+
+    /**
+     * Writes the canonicalized file to {@code out}, which is flushed but not closed.
+     *
+     * @return the number of lines
+     */
+    public static long canonicalize(Path file, OutputStream out, int threads, long chunkSize)
+            throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<Chunk>> inFlight = new ArrayDeque<>();
+        long lines = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = FileChunks.split(channel, chunkSize);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                if (inFlight.size() == 2 * threads) {
+                    lines += write(inFlight.removeFirst(), out);
+                }
+                long from = bounds[i];
+                long to = bounds[i + 1];
+                inFlight.add(pool.submit(() -> canonicalize(FileChunks.read(channel, from, to))));
+            }
+            while (!inFlight.isEmpty()) {
+                lines += write(inFlight.removeFirst(), out);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        out.flush();
+        return lines;
+    }
+
+    private static long write(Future<Chunk> future, OutputStream out) throws IOException, InterruptedException {
+        Chunk chunk;
+        try {
+            chunk = future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        out.write(chunk.bytes, 0, chunk.length);
+        return chunk.lines;
+    }
+
+    /**
+     * Canonicalizes the addresses in a run of whole lines.
+     */
+    static Chunk canonicalize(byte[] in) {
+        Chunk out = new Chunk(in.length + (in.length >> 3) + 64);
+        AsciiSequence token = new AsciiSequence();
+        StringBuilder canonical = new StringBuilder(39);
+        long[] ipv6 = new long[2];
+        int n = in.length;
+        int i = 0;
+        while (i < n) {
+            byte b = in[i];
+            if (DELIMITER[b & 0xff]) {
+                if (b == '\n') {
+                    out.lines++;
+                }
+                out.append(b);
+                i++;
+                continue;
+            }
+            int start = i;
+            boolean separator = false;
+            for (; i < n && !DELIMITER[in[i] & 0xff]; i++) {
+                separator |= in[i] == '.' || in[i] == ':';
+            }
+            if (separator && canonicalize(token.wrap(in, start, i), ipv6, canonical)) {
+                out.append(canonical);
+            } else {
+                out.append(in, start, i);
+            }
+        }
+        if (n > 0 && in[n - 1] != '\n') {
+            out.lines++;
+        }
+        return out;
+    }
+
+    /**
+     * Puts the canonical form of the token into {@code canonical}, as
+     * {@link IpHelper#makeCanonicalAddress(String)} would.
+     *
+     * @return false if the token is not an address
+     */
+    private static boolean canonicalize(CharSequence token, long[] ipv6, StringBuilder canonical) {
+        canonical.setLength(0);
+        long ipv4 = IpParser.parseIpv4(token);
+        if (ipv4 != IpParser.INVALID) {
+            IpParser.appendIpv4(canonical, ipv4);
+            return true;
+        }
+        if (!IpParser.parseIpv6(token, ipv6)) {
+            return false;
+        }
+        if (IpParser.isIpv4Mapped(ipv6[0], ipv6[1])) {
+            IpParser.appendIpv4(canonical, ipv6[1] & 0xffffffffL);
+        } else {
+            IpParser.appendIpv6(canonical, ipv6[0], ipv6[1]);
+        }
+        return true;
+    }
+
+    /**
+     * The canonicalized bytes of one chunk and how many lines they hold.
+     */
+    static final class Chunk {
+        byte[] bytes;
+        int length;
+        long lines;
+
+        Chunk(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        void append(byte b) {
+            ensureCapacity(1);
+            bytes[length++] = b;
+        }
+
+        void append(byte[] from, int start, int end) {
+            ensureCapacity(end - start);
+            System.arraycopy(from, start, bytes, length, end - start);
+            length += end - start;
+        }
+
+        void append(CharSequence ascii) {
+            ensureCapacity(ascii.length());
+            for (int i = 0; i < ascii.length(); i++) {
+                bytes[length++] = (byte) ascii.charAt(i);
+            }
+        }
+
+        private void ensureCapacity(int more) {
+            if (length + more > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + more));
+            }
+        }
+    }
+}
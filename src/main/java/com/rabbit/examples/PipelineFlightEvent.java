@@ -0,0 +1,73 @@
+package com.rabbit.examples;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder view of one {@link PipelineMetrics} interval. Only loaded when the JVM has
+ * {@code jdk.jfr}, so the rest of the pipeline still runs on Java 8.
+ */
+@Name("com.rabbit.examples.WatchPipeline")
+@Label("Watch Pipeline")
+@Category("Watch")
+@Description("Throughput, backlog and latency of the WatchDir event pipeline over one reporting interval")
+class PipelineFlightEvent extends jdk.jfr.Event {
+
+    @Label("Events per Second")
+    double eventsPerSecond;
+
+    @Label("Events Handled")
+    long handled;
+
+    @Label("Queue Depth")
+    long queueDepth;
+
+    @Label("Overflows")
+    long overflows;
+
+    @Label("Received to Dequeued p50")
+    @Timespan
+    long waitP50;
+
+    @Label("Received to Dequeued p99")
+    @Timespan
+    long waitP99;
+
+    @Label("Received to Dequeued Max")
+    @Timespan
+    long waitMax;
+
+    @Label("Dequeued to Handled p50")
+    @Timespan
+    long handleP50;
+
+    @Label("Dequeued to Handled p99")
+    @Timespan
+    long handleP99;
+
+    @Label("Dequeued to Handled Max")
+    @Timespan
+    long handleMax;
+
+    static void commit(double eventsPerSecond, long handled, long queueDepth, long overflows,
+            LatencyHistogram waited, LatencyHistogram handling) {
+        PipelineFlightEvent event = new PipelineFlightEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.eventsPerSecond = eventsPerSecond;
+        event.handled = handled;
+        event.queueDepth = queueDepth;
+        event.overflows = overflows;
+        event.waitP50 = waited.getValueAtPercentile(50);
+        event.waitP99 = waited.getValueAtPercentile(99);
+        event.waitMax = waited.getMax();
+        event.handleP50 = handling.getValueAtPercentile(50);
+        event.handleP99 = handling.getValueAtPercentile(99);
+        event.handleMax = handling.getMax();
+        event.commit();
+    }
+}
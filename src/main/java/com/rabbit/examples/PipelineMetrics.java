@@ -0,0 +1,119 @@
+package com.rabbit.examples;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * How far behind the consumers of the watch pipeline are: the time from the watcher receiving
+ * an event to a worker taking it off its queue, the time the handler then spends on it, the
+ * number of events handled, and as gauges the dispatcher's queue depth and the watcher's
+ * overflow count. A summary of each interval can be printed periodically and, on JVMs with
+ * Flight Recorder, is also committed as a {@code com.rabbit.examples.WatchPipeline} event.
+ */
+public class PipelineMetrics {
+
+    private static final boolean JFR_AVAILABLE = isJfrAvailable();
+
+    private final LatencyHistogram receivedToDequeued = new LatencyHistogram();
+    private final LatencyHistogram dequeuedToHandled = new LatencyHistogram();
+    private final LongAdder handled = new LongAdder();
+    private volatile LongSupplier queueDepth = () -> 0;
+    private volatile LongSupplier overflowCount = () -> 0;
+
+    private ScheduledExecutorService reporter;
+    private long lastReportNanos = System.nanoTime();
+    private long lastHandled;
+
+    /**
+     * Called by a worker when it takes an event off its queue.
+     */
+    public void dequeued(Event event, long nowNanos) {
+        receivedToDequeued.record(nowNanos - event.getReceivedNanos());
+    }
+
+    /**
+     * Called by a worker when the handler has returned, or thrown.
+     */
+    public void handled(long dequeuedNanos, long nowNanos) {
+        dequeuedToHandled.record(nowNanos - dequeuedNanos);
+        handled.increment();
+    }
+
+    public void setQueueDepth(LongSupplier queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public void setOverflowCount(LongSupplier overflowCount) {
+        this.overflowCount = overflowCount;
+    }
+
+    public long getHandledCount() {
+        return handled.sum();
+    }
+
+    /**
+     * Prints a summary of each interval to STDOUT until {@link #stop()} is called.
+     */
+    public synchronized void start(long periodMillis) {
+        if (reporter != null) {
+            return;
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "watch-metrics");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        reporter.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                System.out.println(report());
+            }
+        }, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    /**
+     * Summarises what was recorded since the previous report and starts a new interval.
+     */
+    public synchronized String report() {
+        long now = System.nanoTime();
+        long total = handled.sum();
+        double seconds = (now - lastReportNanos) / 1e9;
+        double eventsPerSecond = seconds > 0 ? (total - lastHandled) / seconds : 0;
+        lastReportNanos = now;
+        lastHandled = total;
+
+        LatencyHistogram waited = receivedToDequeued.snapshotAndReset();
+        LatencyHistogram handling = dequeuedToHandled.snapshotAndReset();
+        long depth = queueDepth.getAsLong();
+        long overflows = overflowCount.getAsLong();
+        if (JFR_AVAILABLE) {
+            PipelineFlightEvent.commit(eventsPerSecond, total, depth, overflows, waited, handling);
+        }
+        return String.format("Pipeline: %.0f events/s, %d handled, %d queued, %d overflows\n"
+                + "  received->dequeued: %s\n  dequeued->handled:  %s",
+                eventsPerSecond, total, depth, overflows, waited, handling);
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.rabbit.examples;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link DirectoryWatcher} for file systems where the native watch service does not fire or
+ * degrades to slow polling, such as network and some container mounts. It rescans directories
+ * itself, in parallel, and publishes the difference to a {@link DirectorySnapshot} as events.
+ * <p>
+ * Every directory has its own scan interval between a minimum and a maximum: a directory in
+ * which something changed is scanned twice as often next time, a quiet one half as often. The
+ * share of wall-clock time spent scanning is kept under a budget by stretching the pause
+ * between cycles.
+ */
+public class PollingWatcher implements DirectoryWatcher {
+
+    private final Path root;
+    private final boolean recursive;
+    private final EventSink sink;
+    private final long minIntervalNanos;
+    private final long maxIntervalNanos;
+    private final double cpuBudget;
+
+    private final DirectorySnapshot snapshot;
+    private final Map<Path, Schedule> schedules = new ConcurrentHashMap<>();
+    private final ForkJoinPool pool;
+
+    private long cycles;
+    private long scans;
+    private long published;
+
+    /**
+     * @param cpuBudget fraction of wall-clock time scans may take, e.g. 0.1 for 10%
+     */
+    public PollingWatcher(Path root, boolean recursive, EventSink sink, long minIntervalMillis,
+            long maxIntervalMillis, double cpuBudget, int threads) throws IOException {
+        if (cpuBudget <= 0 || cpuBudget > 1) {
+            throw new IllegalArgumentException("cpuBudget must be in (0, 1]");
+        }
+        this.root = root;
+        this.recursive = recursive;
+        this.sink = sink;
+        this.minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(minIntervalMillis);
+        this.maxIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(minIntervalMillis, maxIntervalMillis));
+        this.cpuBudget = cpuBudget;
+        this.snapshot = new DirectorySnapshot(1024);
+        this.pool = new ForkJoinPool(threads);
+
+        try {
+            pool.invoke(new SnapshotTask(root, System.nanoTime()));
+        } catch (UncheckedIOException x) {
+            pool.shutdownNow();
+            throw x.getCause();
+        } catch (RuntimeException x) {
+            pool.shutdownNow();
+            throw x;
+        }
+    }
+
+    @Override
+    public void processEvents() throws InterruptedException {
+        try {
+            while (Files.isDirectory(root)) {
+                long started = System.nanoTime();
+                scan(false);
+                long elapsed = System.nanoTime() - started;
+
+                // stay within budget: a cycle that took t may be followed by at most t * budget / (1 - budget) of scanning
+                long budgetPause = (long) (elapsed * (1 - cpuBudget) / cpuBudget);
+                long untilDue = nextDue() - System.nanoTime();
+                long pause = Math.max(budgetPause, untilDue);
+                if (pause > 0) {
+                    TimeUnit.NANOSECONDS.sleep(pause);
+                }
+            }
+        } finally {
+            // interrupting is the usual way to stop this loop
+            pool.shutdownNow();
+        }
+    }
+
+    boolean isShutdown() {
+        return pool.isShutdown();
+    }
+
+    /**
+     * Runs one cycle: rescans the directories that are due (or all of them), publishes the
+     * differences and adapts each directory's interval. Directories discovered along the way are
+     * scanned in the same cycle, so the contents of a new subtree are reported right away.
+     */
+    public void scan(boolean all) throws InterruptedException {
+        cycles++;
+        long now = System.nanoTime();
+        List<Path> due = new ArrayList<>();
+        for (Map.Entry<Path, Schedule> entry : schedules.entrySet()) {
+            if (all || entry.getValue().nextScanAt <= now) {
+                due.add(entry.getKey());
+            }
+        }
+
+        while (!due.isEmpty()) {
+            List<List<Event>> results = rescanAll(due);
+            List<Path> discovered = new ArrayList<>();
+            long scannedAt = System.nanoTime();
+            for (int i = 0; i < due.size(); i++) {
+                Path dir = due.get(i);
+                List<Event> events = results.get(i);
+                Schedule schedule = schedules.get(dir);
+                if (snapshot.size(dir) < 0) {
+                    // removed together with a parent scanned before it in this cycle
+                    schedules.remove(dir);
+                } else if (schedule != null) {
+                    schedule.scanned(scannedAt, !events.isEmpty());
+                }
+                for (Event event : events) {
+                    sink.publish(event);
+                    published++;
+                    if (recursive && event.getKind() == ENTRY_CREATE
+                            && Files.isDirectory(event.getPath(), NOFOLLOW_LINKS)) {
+                        // unknown to the snapshot, so its first rescan reports every entry as created
+                        schedules.put(event.getPath(), new Schedule(scannedAt));
+                        discovered.add(event.getPath());
+                    }
+                }
+            }
+            due = discovered;
+        }
+
+        // drop schedules of directories whose parent reported them deleted
+        for (Iterator<Path> it = schedules.keySet().iterator(); it.hasNext();) {
+            if (snapshot.size(it.next()) < 0) {
+                it.remove();
+            }
+        }
+    }
+
+    private List<List<Event>> rescanAll(final List<Path> dirs) throws InterruptedException {
+        scans += dirs.size();
+        try {
+            return pool.submit(() -> {
+                List<List<Event>> results = new ArrayList<>(dirs.size());
+                dirs.parallelStream().map(dir -> {
+                    try {
+                        return snapshot.rescan(dir);
+                    } catch (IOException x) {
+                        System.err.format("Scan of %s failed: %s\n", dir, x);
+                        return new ArrayList<Event>();
+                    }
+                }).forEachOrdered(results::add);
+                return results;
+            }).get();
+        } catch (ExecutionException x) {
+            throw new IllegalStateException(x.getCause());
+        }
+    }
+
+    private long nextDue() {
+        long next = Long.MAX_VALUE;
+        for (Schedule schedule : schedules.values()) {
+            next = Math.min(next, schedule.nextScanAt);
+        }
+        return next == Long.MAX_VALUE ? System.nanoTime() + maxIntervalNanos : next;
+    }
+
+    public int getDirectoryCount() {
+        return schedules.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PollingWatcher [directories=%d, cycles=%d, scans=%d, events=%d]",
+                schedules.size(), cycles, scans, published);
+    }
+
+    /**
+     * When a directory is next due and how long it waits between scans.
+     */
+    private class Schedule {
+        long intervalNanos = minIntervalNanos;
+        long nextScanAt;
+
+        Schedule(long now) {
+            this.nextScanAt = now;
+        }
+
+        void scanned(long now, boolean changed) {
+            intervalNanos = changed ? Math.max(minIntervalNanos, intervalNanos / 2)
+                    : Math.min(maxIntervalNanos, intervalNanos * 2);
+            nextScanAt = now + intervalNanos;
+        }
+    }
+
+    /**
+     * Takes the initial snapshot of a directory and forks one task per subdirectory.
+     */
+    private class SnapshotTask extends RecursiveAction {
+        private final Path dir;
+        private final long now;
+
+        SnapshotTask(Path dir, long now) {
+            this.dir = dir;
+            this.now = now;
+        }
+
+        @Override
+        protected void compute() {
+            List<Path> subdirectories;
+            try {
+                subdirectories = snapshot.snapshot(dir);
+            } catch (NoSuchFileException x) {
+                return;
+            } catch (IOException x) {
+                throw new UncheckedIOException(x);
+            }
+            Schedule schedule = new Schedule(now);
+            schedule.scanned(now, true);
+            schedules.put(dir, schedule);
+            if (recursive) {
+                List<SnapshotTask> tasks = new ArrayList<>(subdirectories.size());
+                for (Path subdirectory : subdirectories) {
+                    tasks.add(new SnapshotTask(subdirectory, now));
+                }
+                invokeAll(tasks);
+            }
+        }
+    }
+}
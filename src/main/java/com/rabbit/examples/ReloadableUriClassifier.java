@@ -0,0 +1,216 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.rabbit.examples.uri.UriClassifier;
+
+/**
+ * URI classification rules read from a file and recompiled whenever the file changes. The
+ * rules are lines of {@code prefix <optional leading path>} and {@code root <first segment>},
+ * with {@code #} comments, compiled by {@link UriClassifier#forRoots}; see {@code icrd.rules}
+ * for the rules {@link StringManipulationUtils#isIcrdCall(CharSequence)} uses.
+ * <p>
+ * The compiled classifier is immutable and published through an {@link AtomicReference}, so
+ * {@link #matches} is one volatile read and never waits: a classification in flight during a
+ * reload finishes on the classifier it started with. {@link #watch} follows the file's
+ * directory with a {@link WatchDir} whose events are coalesced, and reloads on the coalescer's
+ * thread. A file that fails to parse is reported and the previous rules stay in force.
+ */
+public class ReloadableUriClassifier implements EventSink, Closeable {
+
+    private final Path file;
+    private final AtomicReference<UriClassifier> current;
+    private final AtomicLong reloadCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private volatile long lastCompileNanos;
+    private volatile long lastSwapLatencyNanos;
+
+    private EventCoalescer coalescer;
+    private WatchDir watchDir;
+    private Thread watcherThread;
+
+    /**
+     * @throws IllegalArgumentException if the rules do not parse
+     */
+    public ReloadableUriClassifier(Path file) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.current = new AtomicReference<>(compile(Files.readAllLines(this.file, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Compiles rule lines.
+     *
+     * @throws IllegalArgumentException naming the first line that is not a rule
+     */
+    public static UriClassifier compile(List<String> lines) {
+        String prefix = "";
+        List<String> roots = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] rule = line.split("\\s+");
+            if (rule.length == 2 && rule[0].equals("prefix")) {
+                prefix = rule[1];
+            } else if (rule.length == 2 && rule[0].equals("root")) {
+                roots.add(rule[1]);
+            } else {
+                throw new IllegalArgumentException("Line " + (i + 1) + " is not a rule: " + line);
+            }
+        }
+        return UriClassifier.forRoots(prefix, roots.toArray(new String[0]));
+    }
+
+    public boolean matches(CharSequence uri) {
+        return current.get().matches(uri);
+    }
+
+    /**
+     * @return the classifier in force
+     */
+    public UriClassifier get() {
+        return current.get();
+    }
+
+    /**
+     * Rereads and recompiles the file and swaps the result in.
+     *
+     * @return false if the file could not be read or parsed; the previous rules stay in force
+     */
+    public boolean reload() {
+        return reload(System.nanoTime());
+    }
+
+    private boolean reload(long changedNanos) {
+        long started = System.nanoTime();
+        UriClassifier next;
+        try {
+            next = compile(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException | IllegalArgumentException x) {
+            failureCount.incrementAndGet();
+            System.err.format("Keeping the previous rules, %s: %s\n", file, x);
+            return false;
+        }
+        long compiled = System.nanoTime();
+        current.set(next);
+        long swapped = System.nanoTime();
+        lastCompileNanos = compiled - started;
+        lastSwapLatencyNanos = swapped - changedNanos;
+        reloadCount.incrementAndGet();
+        System.out.format("Reloaded %s: %d prefixes, %d states, compiled in %.2f ms, %.1f ms from change to swap\n",
+                file, next.getPrefixes().size(), next.getStateCount(), lastCompileNanos / 1e6,
+                lastSwapLatencyNanos / 1e6);
+        return true;
+    }
+
+    /**
+     * Starts watching the file, reloading once it has been quiet for {@code quietMillis}.
+     */
+    public synchronized void watch(long quietMillis) throws IOException {
+        if (watcherThread != null) {
+            throw new IllegalStateException("Already watching " + file);
+        }
+        coalescer = new EventCoalescer(this, quietMillis, 1024);
+        watchDir = new WatchDir(file.getParent(), false, coalescer, 1);
+        final WatchDir events = watchDir;
+        watcherThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    events.processEvents();
+                } catch (InterruptedException x) {
+                    // closed
+                }
+            }
+        }, "uri-rules-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+    /**
+     * Called with the coalesced events of the watched directory.
+     */
+    @Override
+    public void publish(Event event) {
+        if (event.getKind() != ENTRY_DELETE && file.getFileName().equals(event.getPath().getFileName())) {
+            reload(event.getReceivedNanos());
+        }
+    }
+
+    /**
+     * Stops watching the file. Classification keeps working with the last rules.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watcherThread == null) {
+            return;
+        }
+        try {
+            // also wakes the watcher thread
+            watchDir.close();
+            watcherThread.interrupt();
+            watcherThread.join();
+            coalescer.close();
+        } catch (InterruptedException x) {
+            Thread.currentThread().interrupt();
+        } finally {
+            watcherThread = null;
+            watchDir = null;
+        }
+    }
+
+    public long getReloadCount() {
+        return reloadCount.get();
+    }
+
+    public long getFailureCount() {
+        return failureCount.get();
+    }
+
+    /**
+     * @return how long the last successful reload took to read and compile the file
+     */
+    public long getLastCompileNanos() {
+        return lastCompileNanos;
+    }
+
+    /**
+     * @return the time from the file change being noticed to the new rules being published,
+     *         including the quiet period
+     */
+    public long getLastSwapLatencyNanos() {
+        return lastSwapLatencyNanos;
+    }
+
+    /**
+     * Classifies the URIs read from standard input, one per line, under the rules in the file
+     * given as the argument, which may be edited meanwhile.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: java ReloadableUriClassifier rules-file < uris");
+            System.exit(-1);
+        }
+        try (ReloadableUriClassifier classifier = new ReloadableUriClassifier(Paths.get(args[0]))) {
+            classifier.watch(WatchDir.QUIET_MILLIS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            for (String uri; (uri = in.readLine()) != null;) {
+                System.out.format("%s: %s\n", uri, classifier.matches(uri));
+            }
+        }
+    }
+}
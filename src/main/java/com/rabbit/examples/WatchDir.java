@@ -36,44 +36,70 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.FileSystems;
-import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.SimpleFileVisitor;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingDeque;
-
-class Event {
-	Path path;
-	WatchEvent.Kind kind;
-	public Event(final Path path, final WatchEvent.Kind kind) {
-		this.path = path;
-		this.kind = kind;
-	}
-	@Override
-	public String toString() {
-		return "Event [path=" + path + ", kind=" + kind + "]";
-	}
-}
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Example to watch a directory (or tree) for changes to files.
  */
-public class WatchDir {
+public class WatchDir implements DirectoryWatcher, Closeable {
+
+    // dispatcher sizing for main(), override with -Dwatchdir.workers / -Dwatchdir.queueCapacity
+    static final int WORKERS = Integer.getInteger("watchdir.workers", Runtime.getRuntime().availableProcessors());
+    static final int QUEUE_CAPACITY = Integer.getInteger("watchdir.queueCapacity", 1024);
+    // events for a path are merged until it has been quiet this long, 0 turns coalescing off
+    static final long QUIET_MILLIS = Long.getLong("watchdir.quietMillis", 500);
+    // a path that never goes quiet is delivered anyway this long after its first event
+    static final long MAX_HOLD_MILLIS = Long.getLong("watchdir.maxHoldMillis", 10 * QUIET_MILLIS);
+    static final int MAX_PENDING = Integer.getInteger("watchdir.maxPending", 100000);
+    static final boolean PRINT_EVENTS = Boolean.getBoolean("watchdir.printEvents");
+    // pipeline latency and throughput summary every this many seconds, 0 turns it off
+    static final long STATS_SECONDS = Long.getLong("watchdir.statsSeconds", 10);
+
+    // registration walks the tree with this many threads, registering is mostly waiting on I/O
+    static final int REGISTER_THREADS = Integer.getInteger("watchdir.registerThreads",
+            Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+    static final int EXPECTED_DIRECTORIES = Integer.getInteger("watchdir.expectedDirs", 1024);
+    // polling backend (-p): per-directory scan interval bounds and share of time spent scanning
+    static final long POLL_MIN_MILLIS = Long.getLong("watchdir.pollMinMillis", 500);
+    static final long POLL_MAX_MILLIS = Long.getLong("watchdir.pollMaxMillis", 10000);
+    static final double POLL_CPU_BUDGET = Double.parseDouble(System.getProperty("watchdir.pollCpuBudget", "0.1"));
+    // with -Dwatchdir.journal=dir events pass through a durable journal and are replayed after a restart
+    static final String JOURNAL_DIR = System.getProperty("watchdir.journal");
+    static final int JOURNAL_SEGMENT_SLOTS = Integer.getInteger("watchdir.journalSegmentSlots", 65536);
+    static final long JOURNAL_COMMIT_MILLIS = Long.getLong("watchdir.journalCommitMillis", 10);
+    static final String JOURNAL_CONSUMER = "watchdir";
 
     private final WatchService watcher;
     private final Map<WatchKey,Path> keys;
     private final boolean recursive;
-    private boolean trace = false;
-    
-    private LinkedBlockingDeque<Event> pathEntriesQueue = new LinkedBlockingDeque();
+    private volatile boolean trace = false;
+
+    private final EventSink sink;
+    private final DirectorySnapshot snapshot;
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong registeredCount = new AtomicLong();
+    private final ForkJoinPool registrationPool = new ForkJoinPool(REGISTER_THREADS);
 
     @SuppressWarnings("unchecked")
     static <T> WatchEvent<T> cast(WatchEvent<?> event) {
@@ -82,8 +108,10 @@ public class WatchDir {
 
     /**
      * Register the given directory with the WatchService
+     *
+     * @return the directory's subdirectories
      */
-    private void register(Path dir) throws IOException {
+    private List<Path> register(Path dir) throws IOException {
         WatchKey key = dir.register(watcher, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
         if (trace) {
             Path prev = keys.get(key);
@@ -96,37 +124,86 @@ public class WatchDir {
             }
         }
         keys.put(key, dir);
+        registeredCount.incrementAndGet();
+        return snapshot.snapshot(dir);
     }
 
     /**
      * Register the given directory, and all its sub-directories, with the
-     * WatchService.
+     * WatchService. Sub-directories are registered concurrently on the registration pool.
      */
     private void registerAll(final Path start) throws IOException {
-        // register directory and sub-directories
-        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException
-            {
-                register(dir);
-                return FileVisitResult.CONTINUE;
+        try {
+            registrationPool.invoke(new RegisterTask(start));
+        } catch (UncheckedIOException x) {
+            throw x.getCause();
+        }
+    }
+
+    /**
+     * Registers one directory, then forks a task for each of its sub-directories.
+     */
+    private class RegisterTask extends RecursiveAction {
+        private final Path dir;
+
+        RegisterTask(Path dir) {
+            this.dir = dir;
+        }
+
+        @Override
+        protected void compute() {
+            List<Path> subdirectories;
+            try {
+                subdirectories = register(dir);
+            } catch (NoSuchFileException x) {
+                // removed while we were walking
+                return;
+            } catch (IOException x) {
+                throw new UncheckedIOException(x);
             }
-        });
+            List<RegisterTask> tasks = new ArrayList<>(subdirectories.size());
+            for (Path subdirectory : subdirectories) {
+                tasks.add(new RegisterTask(subdirectory));
+            }
+            invokeAll(tasks);
+        }
     }
 
     /**
-     * Creates a WatchService and registers the given directory
+     * Creates a WatchService and registers the given directory. Events are published to the
+     * given sink from the thread running {@link #processEvents()}.
      */
-    WatchDir(Path dir, boolean recursive) throws IOException {
+    public WatchDir(Path dir, boolean recursive, EventSink sink) throws IOException {
+        this(dir, recursive, sink, EXPECTED_DIRECTORIES);
+    }
+
+    /**
+     * @param expectedDirectories roughly how many directories will be watched, used to size
+     *                            the key and snapshot tables up front
+     */
+    public WatchDir(Path dir, boolean recursive, EventSink sink, int expectedDirectories) throws IOException {
         this.watcher = FileSystems.getDefault().newWatchService();
-        this.keys = new HashMap<WatchKey,Path>();
+        this.keys = new ConcurrentHashMap<WatchKey,Path>(expectedDirectories);
+        this.snapshot = new DirectorySnapshot(expectedDirectories);
         this.recursive = recursive;
+        this.sink = sink;
 
         if (recursive) {
             System.out.format("Scanning %s ...\n", dir);
-            registerAll(dir);
-            System.out.println("Done.");
+            long started = System.nanoTime();
+            ScheduledExecutorService progress = Executors.newSingleThreadScheduledExecutor();
+            progress.scheduleAtFixedRate(new Runnable() {
+                @Override
+                public void run() {
+                    printProgress("Registered", started);
+                }
+            }, 1, 1, TimeUnit.SECONDS);
+            try {
+                registerAll(dir);
+            } finally {
+                progress.shutdownNow();
+            }
+            printProgress("Done. Registered", started);
         } else {
             register(dir);
         }
@@ -135,18 +212,25 @@ public class WatchDir {
         this.trace = true;
     }
 
+    private void printProgress(String prefix, long started) {
+        long count = registeredCount.get();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.format("%s %d directories in %.1f s (%.0f/s)\n", prefix, count, seconds, count / seconds);
+    }
+
     /**
      * Process all events for keys queued to the watcher
      * @throws InterruptedException 
      */
-    void processEvents() throws InterruptedException {
+    @Override
+    public void processEvents() throws InterruptedException {
         for (;;) {
 
             // wait for key to be signalled
             WatchKey key;
             try {
                 key = watcher.take();
-            } catch (InterruptedException x) {
+            } catch (InterruptedException | ClosedWatchServiceException x) {
                 return;
             }
 
@@ -156,11 +240,13 @@ public class WatchDir {
                 continue;
             }
 
+            boolean overflowed = false;
             for (WatchEvent<?> event: key.pollEvents()) {
                 WatchEvent.Kind kind = event.kind();
 
-                // TBD - provide example of how OVERFLOW event is handled
+                // events were lost, recover them from the snapshot once the rest are handled
                 if (kind == OVERFLOW) {
+                    overflowed = true;
                     continue;
                 }
 
@@ -169,23 +255,29 @@ public class WatchDir {
                 Path name = ev.context();
                 Path child = dir.resolve(name);
 
-                // print out event
-                System.out.format("%s: %s\n", event.kind().name(), child);
-                pathEntriesQueue.addFirst(new Event(child, event.kind()));
+                // print out event, too costly to do per raw event during bulk copies
+                if (PRINT_EVENTS) {
+                    System.out.format("%s: %s\n", event.kind().name(), child);
+                }
+                sink.publish(new Event(child, event.kind()));
+
+                // keep the snapshot current so an overflow rescan reports only what was missed
+                if (kind == ENTRY_DELETE && snapshot.isDirectory(child)) {
+                    snapshot.forget(child);
+                }
+                snapshot.update(child);
 
                 // if directory is created, and watching recursively, then
                 // register it and its sub-directories
-                if (recursive && (kind == ENTRY_CREATE)) {
-                    try {
-                        if (Files.isDirectory(child, NOFOLLOW_LINKS)) {
-                            registerAll(child);
-                        }
-                    } catch (IOException x) {
-                        // ignore to keep sample readbale
-                    }
+                if (kind == ENTRY_CREATE) {
+                    registerCreated(child);
                 }
             }
 
+            if (overflowed) {
+                recover(dir);
+            }
+
             // reset key and remove from set if directory no longer accessible
             boolean valid = key.reset();
             if (!valid) {
@@ -199,43 +291,138 @@ public class WatchDir {
         }
     }
 
+    /**
+     * Rescans a directory whose events overflowed and publishes the changes the snapshot did
+     * not know about as synthetic events.
+     */
+    private void recover(Path dir) throws InterruptedException {
+        overflowCount.incrementAndGet();
+        List<Event> missed;
+        try {
+            missed = snapshot.rescan(dir);
+        } catch (IOException x) {
+            System.err.format("Rescan of %s after overflow failed: %s\n", dir, x);
+            return;
+        }
+        for (Event event : missed) {
+            sink.publish(event);
+            if (event.getKind() == ENTRY_CREATE) {
+                registerCreated(event.getPath());
+            }
+        }
+    }
+
+    private void registerCreated(Path child) {
+        if (recursive) {
+            try {
+                if (Files.isDirectory(child, NOFOLLOW_LINKS)) {
+                    registerAll(child);
+                }
+            } catch (IOException x) {
+                // ignore to keep sample readbale
+            }
+        }
+    }
+
+    /**
+     * Closes the watch service, releasing its OS resources (an inotify instance on Linux). A
+     * thread blocked in {@link #processEvents()} returns.
+     */
+    @Override
+    public void close() throws IOException {
+        registrationPool.shutdown();
+        watcher.close();
+    }
+
+    /**
+     * @return how many times events were lost and a directory had to be rescanned.
+     */
+    public long getOverflowCount() {
+        return overflowCount.get();
+    }
+
     static void usage() {
-        System.err.println("usage: java WatchDir [-r] dir");
+        System.err.println("usage: java WatchDir [-r] [-p] dir");
+        System.err.println("  -r  watch the whole tree");
+        System.err.println("  -p  poll instead of using the native watch service");
         System.exit(-1);
     }
 
     public static void main(String[] args) throws IOException, InterruptedException {
         // parse arguments
-        if (args.length == 0 || args.length > 2)
+        if (args.length == 0 || args.length > 3)
             usage();
         boolean recursive = false;
+        boolean polling = false;
         int dirArg = 0;
-        if (args[0].equals("-r")) {
-            if (args.length < 2)
+        for (; dirArg < args.length - 1; dirArg++) {
+            if (args[dirArg].equals("-r")) {
+                recursive = true;
+            } else if (args[dirArg].equals("-p")) {
+                polling = true;
+            } else {
                 usage();
-            recursive = true;
-            dirArg++;
+            }
         }
 
         // register directory and process its events
         Path dir = Paths.get(args[dirArg]);
-        final WatchDir wd = new WatchDir(dir, recursive);
-        new Thread(new Runnable() {
-        	@Override
-        	public void run() {
-        		System.out.println("In run method");
-        		while(true) {
-	        		Event obj;
-					try {
-						obj = wd.pathEntriesQueue.takeFirst();
-						System.out.println(String.format("Processing: %s", obj.toString()));
-					} catch (InterruptedException e) {
-						e.printStackTrace();
-					}
-        		}
-        	}
-        }).start();
-        wd.processEvents();
-        
+        PipelineMetrics metrics = new PipelineMetrics();
+        final EventDispatcher dispatcher = new EventDispatcher(WORKERS, QUEUE_CAPACITY, new EventHandler() {
+            @Override
+            public void handle(Event event) {
+                System.out.println(String.format("Processing: %s", event.toString()));
+            }
+        }, metrics);
+        ChangeJournal journal = null;
+        Thread follower = null;
+        EventSink sink = dispatcher;
+        if (JOURNAL_DIR != null) {
+            final ChangeJournal events = new ChangeJournal(Paths.get(JOURNAL_DIR), JOURNAL_SEGMENT_SLOTS,
+                    JOURNAL_COMMIT_MILLIS);
+            follower = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        events.follow(JOURNAL_CONSUMER, dispatcher);
+                    } catch (IOException | InterruptedException x) {
+                        x.printStackTrace();
+                    }
+                }
+            }, "watch-journal-follower");
+            follower.start();
+            journal = events;
+            sink = journal;
+        }
+        EventCoalescer coalescer = null;
+        if (QUIET_MILLIS > 0) {
+            coalescer = new EventCoalescer(sink, QUIET_MILLIS, MAX_HOLD_MILLIS, MAX_PENDING);
+            sink = coalescer;
+        }
+        final DirectoryWatcher watcher;
+        if (polling) {
+            watcher = new PollingWatcher(dir, recursive, sink, POLL_MIN_MILLIS, POLL_MAX_MILLIS,
+                    POLL_CPU_BUDGET, REGISTER_THREADS);
+        } else {
+            final WatchDir watchDir = new WatchDir(dir, recursive, sink);
+            metrics.setOverflowCount(watchDir::getOverflowCount);
+            watcher = watchDir;
+        }
+        if (STATS_SECONDS > 0) {
+            metrics.start(TimeUnit.SECONDS.toMillis(STATS_SECONDS));
+        }
+        watcher.processEvents();
+        metrics.stop();
+        if (coalescer != null) {
+            coalescer.close();
+            System.out.println(coalescer);
+        }
+        if (journal != null) {
+            journal.close();
+            follower.join();
+            System.out.println(journal);
+        }
+        dispatcher.shutdown();
+        System.out.println(metrics.report());
     }
-}
\ No newline at end of file
+}
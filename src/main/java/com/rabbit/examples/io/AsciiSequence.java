@@ -0,0 +1,68 @@
+package com.rabbit.examples.io;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link CharSequence} view of a range of single-byte characters, so text read as bytes can
+ * be handed to parsers without decoding it into a String first. The view is mutable: one
+ * instance is meant to be re-pointed with {@link #wrap} at every token of a buffer.
+ * Bytes are mapped one to one onto chars, as ISO-8859-1 does.
+ */
+public final class AsciiSequence implements CharSequence {
+
+    private byte[] bytes;
+    private int from;
+    private int length;
+
+    public AsciiSequence() {
+        this(new byte[0], 0, 0);
+    }
+
+    public AsciiSequence(byte[] bytes, int from, int to) {
+        wrap(bytes, from, to);
+    }
+
+    /**
+     * Points this view at {@code bytes[from, to)}.
+     *
+     * @return this
+     */
+    public AsciiSequence wrap(byte[] bytes, int from, int to) {
+        if (from < 0 || to < from || to > bytes.length) {
+            throw new IndexOutOfBoundsException("[" + from + ", " + to + ") of " + bytes.length);
+        }
+        this.bytes = bytes;
+        this.from = from;
+        this.length = to - from;
+        return this;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(String.valueOf(index));
+        }
+        return (char) (bytes[from + index] & 0xff);
+    }
+
+    /**
+     * @return a new view sharing the same bytes
+     */
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end < start || end > length) {
+            throw new IndexOutOfBoundsException("[" + start + ", " + end + ") of " + length);
+        }
+        return new AsciiSequence(bytes, from + start, from + end);
+    }
+
+    @Override
+    public String toString() {
+        return new String(bytes, from, length, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.rabbit.examples.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Cuts a file into chunks that end on line boundaries, so the chunks can be processed in
+ * parallel without a line ever straddling two of them. Chunks are read with positional reads,
+ * which any number of threads may issue on one channel at the same time.
+ */
+public final class FileChunks {
+
+    // how far past a nominal boundary to read at a time looking for the end of the line
+    private static final int PROBE_SIZE = 4096;
+
+    private FileChunks() {
+    }
+
+    /**
+     * @param chunkSize the nominal chunk size; a chunk is longer by the rest of its last line
+     * @return the chunk boundaries, from 0 to the file size: chunk {@code i} is
+     *         {@code [bounds[i], bounds[i + 1])}
+     */
+    public static long[] split(FileChannel channel, long chunkSize) throws IOException {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        long size = channel.size();
+        long[] bounds = new long[(int) Math.min(Integer.MAX_VALUE - 8, size / chunkSize + 2)];
+        int count = 1;
+        ByteBuffer probe = ByteBuffer.allocate(PROBE_SIZE);
+        for (long start = 0; start < size;) {
+            long end = start + chunkSize >= size ? size : endOfLine(channel, start + chunkSize, size, probe);
+            bounds[count++] = end;
+            start = end;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Reads {@code [from, to)} of the file.
+     */
+    public static byte[] read(FileChannel channel, long from, long to) throws IOException {
+        byte[] bytes = new byte[Math.toIntExact(to - from)];
+        read(channel, from, to, bytes);
+        return bytes;
+    }
+
+    /**
+     * Reads {@code [from, to)} of the file into the start of {@code into}, so one buffer can
+     * be reused for every chunk.
+     *
+     * @return the number of bytes read
+     */
+    public static int read(FileChannel channel, long from, long to, byte[] into) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(into, 0, Math.toIntExact(to - from));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, from + buffer.position()) < 0) {
+                throw new EOFException("File ended at " + (from + buffer.position()) + ", expected " + to);
+            }
+        }
+        return buffer.position();
+    }
+
+    /**
+     * @return the offset just past the first newline at or after {@code position}, or the size
+     */
+    private static long endOfLine(FileChannel channel, long position, long size, ByteBuffer probe)
+            throws IOException {
+        while (position < size) {
+            probe.clear();
+            int n = channel.read(probe, position);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += n;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,60 @@
+package com.rabbit.examples.ip;
+
+import com.rabbit.examples.IpHelper;
+
+/**
+ * A parsed {@code address/length} prefix. The address is left as written; host bits are not
+ * cleared.
+ */
+final class Cidr {
+    final boolean ipv4;
+    // the IPv4 address in the low 32 bits of low, or the IPv6 address
+    final long high;
+    final long low;
+    final int length;
+
+    private Cidr(boolean ipv4, long high, long low, int length) {
+        this.ipv4 = ipv4;
+        this.high = high;
+        this.low = low;
+        this.length = length;
+    }
+
+    /**
+     * @param text an IPv4 or IPv6 address, optionally followed by {@code /length}; without a
+     *             length the prefix covers the single address
+     * @throws IllegalArgumentException if it is not
+     */
+    static Cidr parse(String text) {
+        String address = IpHelper.trimCIDR(text);
+        long ipv4Address = IpParser.parseIpv4(address);
+        if (ipv4Address != IpParser.INVALID) {
+            return new Cidr(true, 0, ipv4Address, length(text, address, 32));
+        }
+        long[] ipv6Address = new long[2];
+        if (IpParser.parseIpv6(address, ipv6Address)) {
+            return new Cidr(false, ipv6Address[0], ipv6Address[1], length(text, address, 128));
+        }
+        throw new IllegalArgumentException("Not an IP prefix: " + text);
+    }
+
+    private static int length(String cidr, String address, int maxLength) {
+        if (cidr.length() == address.length()) {
+            return maxLength;
+        }
+        int length;
+        try {
+            length = Integer.parseInt(IpHelper.trimPrefix(cidr));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid prefix length: " + cidr);
+        }
+        return checkLength(length, maxLength);
+    }
+
+    static int checkLength(int length, int maxLength) {
+        if (length < 0 || length > maxLength) {
+            throw new IllegalArgumentException("Invalid prefix length: " + length);
+        }
+        return length;
+    }
+}
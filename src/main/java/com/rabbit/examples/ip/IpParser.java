@@ -0,0 +1,232 @@
+package com.rabbit.examples.ip;
+
+/**
+ * Validates and decodes literal IPv4 and IPv6 addresses straight from a {@link CharSequence},
+ * without regular expressions, reflection or allocation. Pass a
+ * {@link com.rabbit.examples.io.AsciiSequence} to parse from a byte range.
+ * <p>
+ * IPv4 addresses are strict dotted quads of decimal numbers up to 255 and come back as the
+ * unsigned 32-bit value in a long. IPv6 addresses follow RFC 4291 text form: up to eight hex
+ * groups, at most one {@code ::}, an optional dotted quad in the last 32 bits, optionally in
+ * brackets and with a {@code %zone} suffix, which is ignored. They come back as two longs,
+ * the high and the low 64 bits.
+ */
+public final class IpParser {
+
+    /**
+     * Returned by {@link #parseIpv4} for anything that is not an IPv4 address.
+     */
+    public static final long INVALID = -1;
+
+    private static final int IPV6_GROUPS = 8;
+
+    private IpParser() {
+    }
+
+    public static long parseIpv4(CharSequence s) {
+        return parseIpv4(s, 0, s.length());
+    }
+
+    /**
+     * @return the address in the low 32 bits, or {@link #INVALID}
+     */
+    public static long parseIpv4(CharSequence s, int from, int to) {
+        long address = 0;
+        int parts = 0;
+        int i = from;
+        for (;;) {
+            int start = i;
+            int value = 0;
+            while (i < to && i - start < 3) {
+                char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = value * 10 + (c - '0');
+                i++;
+            }
+            if (i == start || value > 255) {
+                return INVALID;
+            }
+            address = (address << 8) | value;
+            parts++;
+            if (i == to) {
+                break;
+            }
+            if (parts == 4 || s.charAt(i) != '.') {
+                return INVALID;
+            }
+            i++;
+        }
+        return parts == 4 ? address : INVALID;
+    }
+
+    public static boolean parseIpv6(CharSequence s, long[] out) {
+        return parseIpv6(s, 0, s.length(), out);
+    }
+
+    /**
+     * Decodes an IPv6 address into {@code out[0]} (high 64 bits) and {@code out[1]} (low 64
+     * bits). {@code out} is clobbered even if the text turns out not to be an address.
+     *
+     * @return false if the text is not an IPv6 address
+     */
+    public static boolean parseIpv6(CharSequence s, int from, int to, long[] out) {
+        if (to - from >= 2 && s.charAt(from) == '[' && s.charAt(to - 1) == ']') {
+            from++;
+            to--;
+        }
+        for (int i = from; i < to; i++) {
+            if (s.charAt(i) == '%') {
+                if (i == to - 1) {
+                    return false;
+                }
+                to = i;
+                break;
+            }
+        }
+        if (to - from < 2) {
+            return false;
+        }
+
+        out[0] = 0;
+        out[1] = 0;
+        int groups = 0;
+        int compressAt = -1;
+        int i = from;
+        if (s.charAt(i) == ':') {
+            if (s.charAt(i + 1) != ':') {
+                return false;
+            }
+            compressAt = 0;
+            i += 2;
+        }
+        while (i < to) {
+            if (groups == IPV6_GROUPS) {
+                return false;
+            }
+            int start = i;
+            int value = 0;
+            int digit;
+            while (i < to && i - start < 4 && (digit = hexValue(s.charAt(i))) >= 0) {
+                value = (value << 4) | digit;
+                i++;
+            }
+            if (i == start) {
+                return false;
+            }
+            if (i < to && s.charAt(i) == '.') {
+                // embedded dotted quad, must be the last 32 bits
+                if (groups > IPV6_GROUPS - 2) {
+                    return false;
+                }
+                long ipv4 = parseIpv4(s, start, to);
+                if (ipv4 == INVALID) {
+                    return false;
+                }
+                setGroup(out, groups++, (int) (ipv4 >>> 16));
+                setGroup(out, groups++, (int) (ipv4 & 0xffff));
+                break;
+            }
+            setGroup(out, groups++, value);
+            if (i == to) {
+                break;
+            }
+            if (s.charAt(i) != ':') {
+                return false;
+            }
+            i++;
+            if (i < to && s.charAt(i) == ':') {
+                if (compressAt >= 0) {
+                    return false;
+                }
+                compressAt = groups;
+                i++;
+            } else if (i == to) {
+                return false;
+            }
+        }
+
+        if (compressAt < 0) {
+            return groups == IPV6_GROUPS;
+        }
+        if (groups == IPV6_GROUPS) {
+            return false;
+        }
+        // move the groups after "::" to the end, the ones in between become zero
+        int tail = groups - compressAt;
+        for (int j = tail - 1; j >= 0; j--) {
+            int value = getGroup(out, compressAt + j);
+            setGroup(out, compressAt + j, 0);
+            setGroup(out, IPV6_GROUPS - tail + j, value);
+        }
+        return true;
+    }
+
+    /**
+     * @return true for {@code ::ffff:a.b.c.d}, an IPv4 address in IPv6 form
+     */
+    public static boolean isIpv4Mapped(long high, long low) {
+        return high == 0 && (low >>> 32) == 0xffffL;
+    }
+
+    /**
+     * Appends the dotted quad of the low 32 bits.
+     */
+    public static StringBuilder appendIpv4(StringBuilder sb, long address) {
+        return sb.append((address >>> 24) & 0xff).append('.')
+                .append((address >>> 16) & 0xff).append('.')
+                .append((address >>> 8) & 0xff).append('.')
+                .append(address & 0xff);
+    }
+
+    /**
+     * Appends all eight groups in lower case hex without leading zeros or {@code ::}, the form
+     * {@link java.net.Inet6Address#getHostAddress()} produces.
+     */
+    public static StringBuilder appendIpv6(StringBuilder sb, long high, long low) {
+        for (int group = 0; group < IPV6_GROUPS; group++) {
+            if (group > 0) {
+                sb.append(':');
+            }
+            long half = group < 4 ? high : low;
+            sb.append(Long.toHexString((half >>> (48 - 16 * (group & 3))) & 0xffff));
+        }
+        return sb;
+    }
+
+    public static byte[] toBytes(long ipv4) {
+        return new byte[] { (byte) (ipv4 >>> 24), (byte) (ipv4 >>> 16), (byte) (ipv4 >>> 8), (byte) ipv4 };
+    }
+
+    public static byte[] toBytes(long high, long low) {
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[i + 8] = (byte) (low >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static int getGroup(long[] address, int group) {
+        return (int) ((address[group >> 2] >>> (48 - 16 * (group & 3))) & 0xffff);
+    }
+
+    private static void setGroup(long[] address, int group, int value) {
+        int shift = 48 - 16 * (group & 3);
+        address[group >> 2] = (address[group >> 2] & ~(0xffffL << shift)) | ((long) value << shift);
+    }
+}
@@ -0,0 +1,384 @@
+package com.rabbit.examples.ip;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Immutable set of IPv4 and IPv6 addresses, kept as sorted, merged, non-overlapping
+ * intervals of 128-bit numbers in one {@code long[]}. IPv4 addresses live in their IPv4-mapped
+ * place, {@code ::ffff:0:0/96}, so one interval list serves both families and
+ * {@code 10.0.0.1} and {@code ::ffff:10.0.0.1} are the same member.
+ * <p>
+ * Membership is a binary search over the intervals. Union, intersection and difference walk
+ * both operands once. The binary form is the interval array itself behind a small header,
+ * so {@link #read(Path)} is one bulk read.
+ */
+public final class IpRangeSet {
+
+    private static final int MAGIC = 0x49505253; // "IPRS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 12;
+    private static final long IPV4_MAPPED = 0xffff00000000L;
+
+    public static final IpRangeSet EMPTY = new IpRangeSet(new long[0], 0);
+
+    private static final ThreadLocal<long[]> IPV6_SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
+
+    // per interval: start high, start low, end high, end low; ends are inclusive
+    private final long[] bounds;
+    private final int size;
+
+    private IpRangeSet(long[] bounds, int size) {
+        this.bounds = bounds;
+        this.size = size;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return the number of intervals
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int ipv4Address) {
+        return contains(0, IPV4_MAPPED | (ipv4Address & 0xffffffffL));
+    }
+
+    public boolean contains(long high, long low) {
+        // the last interval starting at or before the address
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Ipv6Address.compare(bounds[4 * mid], bounds[4 * mid + 1], high, low) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return hi >= 0 && Ipv6Address.compare(high, low, bounds[4 * hi + 2], bounds[4 * hi + 3]) <= 0;
+    }
+
+    /**
+     * @return false also if the text is not an IP address
+     */
+    public boolean contains(CharSequence address) {
+        long ipv4Address = IpParser.parseIpv4(address);
+        if (ipv4Address != IpParser.INVALID) {
+            return contains((int) ipv4Address);
+        }
+        long[] ipv6Address = IPV6_SCRATCH.get();
+        return IpParser.parseIpv6(address, ipv6Address) && contains(ipv6Address[0], ipv6Address[1]);
+    }
+
+    public IpRangeSet union(IpRangeSet other) {
+        Intervals result = new Intervals(size + other.size);
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && Ipv6Address.compare(bounds[4 * i], bounds[4 * i + 1],
+                    other.bounds[4 * j], other.bounds[4 * j + 1]) <= 0)) {
+                result.append(bounds, i++);
+            } else {
+                result.append(other.bounds, j++);
+            }
+        }
+        return result.toSet();
+    }
+
+    public IpRangeSet intersection(IpRangeSet other) {
+        Intervals result = new Intervals(Math.max(size, other.size));
+        int i = 0;
+        int j = 0;
+        long[] a = bounds;
+        long[] b = other.bounds;
+        while (i < size && j < other.size) {
+            // overlap of the two current intervals, if any
+            boolean laterStartA = Ipv6Address.compare(a[4 * i], a[4 * i + 1], b[4 * j], b[4 * j + 1]) >= 0;
+            long startHigh = laterStartA ? a[4 * i] : b[4 * j];
+            long startLow = laterStartA ? a[4 * i + 1] : b[4 * j + 1];
+            boolean earlierEndA = Ipv6Address.compare(a[4 * i + 2], a[4 * i + 3], b[4 * j + 2], b[4 * j + 3]) <= 0;
+            long endHigh = earlierEndA ? a[4 * i + 2] : b[4 * j + 2];
+            long endLow = earlierEndA ? a[4 * i + 3] : b[4 * j + 3];
+            if (Ipv6Address.compare(startHigh, startLow, endHigh, endLow) <= 0) {
+                result.append(startHigh, startLow, endHigh, endLow);
+            }
+            if (earlierEndA) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result.toSet();
+    }
+
+    /**
+     * @return the addresses in this set but not in the other
+     */
+    public IpRangeSet difference(IpRangeSet other) {
+        Intervals result = new Intervals(size + other.size);
+        long[] b = other.bounds;
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            long startHigh = bounds[4 * i];
+            long startLow = bounds[4 * i + 1];
+            long endHigh = bounds[4 * i + 2];
+            long endLow = bounds[4 * i + 3];
+            // skip subtrahends ending before this interval starts
+            while (j < other.size && Ipv6Address.compare(b[4 * j + 2], b[4 * j + 3], startHigh, startLow) < 0) {
+                j++;
+            }
+            boolean remaining = true;
+            int k = j;
+            while (k < other.size && Ipv6Address.compare(b[4 * k], b[4 * k + 1], endHigh, endLow) <= 0) {
+                if (Ipv6Address.compare(b[4 * k], b[4 * k + 1], startHigh, startLow) > 0) {
+                    // keep the part before the subtrahend starts
+                    long beforeLow = b[4 * k + 1] - 1;
+                    long beforeHigh = b[4 * k + 1] == 0 ? b[4 * k] - 1 : b[4 * k];
+                    result.append(startHigh, startLow, beforeHigh, beforeLow);
+                }
+                if (Ipv6Address.compare(b[4 * k + 2], b[4 * k + 3], endHigh, endLow) >= 0) {
+                    remaining = false;
+                    break;
+                }
+                // continue after the subtrahend ends
+                startLow = b[4 * k + 3] + 1;
+                startHigh = startLow == 0 ? b[4 * k + 2] + 1 : b[4 * k + 2];
+                k++;
+            }
+            if (remaining) {
+                result.append(startHigh, startLow, endHigh, endLow);
+            }
+        }
+        return result.toSet();
+    }
+
+    /**
+     * Writes the binary form: magic, version, interval count, then four longs per interval,
+     * big-endian.
+     */
+    public void write(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 32 * size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(size);
+        buffer.asLongBuffer().put(bounds, 0, 4 * size);
+        buffer.rewind();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads what {@link #write(Path)} wrote. The intervals are trusted to be normalized.
+     */
+    public static IpRangeSet read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading
+            }
+            buffer.flip();
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not an IpRangeSet file: " + file);
+            }
+            int size = buffer.getInt();
+            if (size < 0 || buffer.remaining() != 32L * size) {
+                throw new IOException("Truncated IpRangeSet file: " + file);
+            }
+            long[] bounds = new long[4 * size];
+            buffer.asLongBuffer().get(bounds);
+            return new IpRangeSet(bounds, size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof IpRangeSet)) {
+            return false;
+        }
+        // bounds are always exactly 4 * size long
+        return Arrays.equals(bounds, ((IpRangeSet) obj).bounds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bounds);
+    }
+
+    /**
+     * Lists the intervals as {@code first-last}, IPv4 ranges as dotted quads.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            appendAddress(sb, bounds[4 * i], bounds[4 * i + 1]);
+            sb.append('-');
+            appendAddress(sb, bounds[4 * i + 2], bounds[4 * i + 3]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static void appendAddress(StringBuilder sb, long high, long low) {
+        if (IpParser.isIpv4Mapped(high, low)) {
+            IpParser.appendIpv4(sb, low & 0xffffffffL);
+        } else {
+            IpParser.appendIpv6(sb, high, low);
+        }
+    }
+
+    /**
+     * Collects CIDRs and ranges in any order, overlapping or not.
+     */
+    public static final class Builder {
+        private final Intervals unsorted = new Intervals(16);
+
+        private Builder() {
+        }
+
+        /**
+         * @param text {@code address}, {@code address/length} or {@code first-last}, of either
+         *             family
+         * @throws IllegalArgumentException if it is none of these
+         */
+        public Builder add(String text) {
+            text = text.trim();
+            int dash = text.indexOf('-');
+            if (dash >= 0) {
+                Cidr first = Cidr.parse(text.substring(0, dash).trim());
+                Cidr last = Cidr.parse(text.substring(dash + 1).trim());
+                if (first.ipv4 != last.ipv4 || first.length != last.length || first.length != (first.ipv4 ? 32 : 128)) {
+                    throw new IllegalArgumentException("Not an address range: " + text);
+                }
+                if (first.ipv4) {
+                    return addIpv4Range((int) first.low, (int) last.low);
+                }
+                return addRange(first.high, first.low, last.high, last.low);
+            }
+            Cidr cidr = Cidr.parse(text);
+            if (cidr.ipv4) {
+                return addIpv4Cidr((int) cidr.low, cidr.length);
+            }
+            return addIpv6Cidr(cidr.high, cidr.low, cidr.length);
+        }
+
+        public Builder addIpv4Cidr(int address, int prefixLength) {
+            int first = Ipv4Address.mask(address, prefixLength);
+            // shifting an int by 32 is a no-op, hence the special case
+            int last = prefixLength == 0 ? -1 : first | ~(-1 << (32 - prefixLength));
+            return addIpv4Range(first, last);
+        }
+
+        public Builder addIpv4Range(int first, int last) {
+            return addRange(0, IPV4_MAPPED | (first & 0xffffffffL), 0, IPV4_MAPPED | (last & 0xffffffffL));
+        }
+
+        public Builder addIpv6Cidr(long high, long low, int prefixLength) {
+            long firstHigh = Ipv6Address.maskHigh(high, prefixLength);
+            long firstLow = Ipv6Address.maskLow(low, prefixLength);
+            long hostHigh = ~Ipv6Address.maskHigh(-1L, prefixLength);
+            long hostLow = ~Ipv6Address.maskLow(-1L, prefixLength);
+            return addRange(firstHigh, firstLow, firstHigh | hostHigh, firstLow | hostLow);
+        }
+
+        /**
+         * @throws IllegalArgumentException if last comes before first
+         */
+        public Builder addRange(long firstHigh, long firstLow, long lastHigh, long lastLow) {
+            if (Ipv6Address.compare(firstHigh, firstLow, lastHigh, lastLow) > 0) {
+                throw new IllegalArgumentException("Range ends before it starts");
+            }
+            unsorted.add(firstHigh, firstLow, lastHigh, lastLow);
+            return this;
+        }
+
+        public IpRangeSet build() {
+            return unsorted.sortAndMerge().toSet();
+        }
+    }
+
+    /**
+     * A growable interval array. {@link #append} merges into the last interval, so feeding it
+     * intervals in order of their start yields a normalized set.
+     */
+    private static final class Intervals {
+        long[] bounds;
+        int size;
+
+        Intervals(int capacity) {
+            bounds = new long[4 * Math.max(1, capacity)];
+        }
+
+        void add(long startHigh, long startLow, long endHigh, long endLow) {
+            if (4 * size == bounds.length) {
+                bounds = Arrays.copyOf(bounds, 2 * bounds.length);
+            }
+            bounds[4 * size] = startHigh;
+            bounds[4 * size + 1] = startLow;
+            bounds[4 * size + 2] = endHigh;
+            bounds[4 * size + 3] = endLow;
+            size++;
+        }
+
+        void append(long[] from, int index) {
+            append(from[4 * index], from[4 * index + 1], from[4 * index + 2], from[4 * index + 3]);
+        }
+
+        void append(long startHigh, long startLow, long endHigh, long endLow) {
+            if (size > 0) {
+                int last = 4 * (size - 1);
+                if (Ipv6Address.compare(startHigh, startLow, bounds[last + 2], bounds[last + 3]) <= 0
+                        || follows(bounds[last + 2], bounds[last + 3], startHigh, startLow)) {
+                    if (Ipv6Address.compare(endHigh, endLow, bounds[last + 2], bounds[last + 3]) > 0) {
+                        bounds[last + 2] = endHigh;
+                        bounds[last + 3] = endLow;
+                    }
+                    return;
+                }
+            }
+            add(startHigh, startLow, endHigh, endLow);
+        }
+
+        Intervals sortAndMerge() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (x, y) -> Ipv6Address.compare(bounds[4 * x], bounds[4 * x + 1], bounds[4 * y],
+                    bounds[4 * y + 1]));
+            Intervals merged = new Intervals(size);
+            for (Integer i : order) {
+                merged.append(bounds, i);
+            }
+            return merged;
+        }
+
+        IpRangeSet toSet() {
+            return size == 0 ? EMPTY : new IpRangeSet(Arrays.copyOf(bounds, 4 * size), size);
+        }
+
+        /**
+         * @return true if b is a + 1
+         */
+        private static boolean follows(long aHigh, long aLow, long bHigh, long bLow) {
+            return aLow == -1L ? bLow == 0 && bHigh == aHigh + 1 && aHigh != -1L : bHigh == aHigh && bLow == aLow + 1;
+        }
+    }
+}
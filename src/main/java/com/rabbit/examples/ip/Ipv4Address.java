@@ -0,0 +1,106 @@
+package com.rabbit.examples.ip;
+
+/**
+ * An IPv4 address held as an {@code int}. The static methods work on the bare {@code int},
+ * so collections such as {@link Ipv4Array} can store addresses without an object apiece;
+ * instances are for APIs that want a value type. Addresses order as unsigned numbers, so
+ * 128.0.0.0 sorts after 127.255.255.255.
+ */
+public final class Ipv4Address implements Comparable<Ipv4Address> {
+
+    private final int value;
+
+    private Ipv4Address(int value) {
+        this.value = value;
+    }
+
+    public static Ipv4Address of(int value) {
+        return new Ipv4Address(value);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not a dotted quad
+     */
+    public static Ipv4Address parse(CharSequence text) {
+        return new Ipv4Address(parseInt(text));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not a dotted quad
+     */
+    public static int parseInt(CharSequence text) {
+        long address = IpParser.parseIpv4(text);
+        if (address == IpParser.INVALID) {
+            throw new IllegalArgumentException("Not an IPv4 address: " + text);
+        }
+        return (int) address;
+    }
+
+    public int toInt() {
+        return value;
+    }
+
+    /**
+     * @return the address as an unsigned value
+     */
+    public long toLong() {
+        return value & 0xffffffffL;
+    }
+
+    public byte[] toBytes() {
+        return IpParser.toBytes(value);
+    }
+
+    public Ipv4Address mask(int prefixLength) {
+        return new Ipv4Address(mask(value, prefixLength));
+    }
+
+    /**
+     * @return the address with all but the first {@code prefixLength} bits cleared
+     */
+    public static int mask(int address, int prefixLength) {
+        if (prefixLength < 0 || prefixLength > 32) {
+            throw new IllegalArgumentException("Invalid IPv4 prefix length: " + prefixLength);
+        }
+        return prefixLength == 0 ? 0 : address & (-1 << (32 - prefixLength));
+    }
+
+    public static int compare(int a, int b) {
+        return Integer.compareUnsigned(a, b);
+    }
+
+    /**
+     * Spreads the bits so that consecutive addresses land far apart in a hash table.
+     */
+    public static int hash(int address) {
+        int h = address * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+
+    public static String format(int address) {
+        return IpParser.appendIpv4(new StringBuilder(15), address & 0xffffffffL).toString();
+    }
+
+    @Override
+    public int compareTo(Ipv4Address other) {
+        return compare(value, other.value);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof Ipv4Address && ((Ipv4Address) obj).value == value;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(value);
+    }
+
+    /**
+     * @return the dotted quad
+     */
+    @Override
+    public String toString() {
+        return format(value);
+    }
+}
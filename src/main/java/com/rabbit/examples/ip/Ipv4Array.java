@@ -0,0 +1,131 @@
+package com.rabbit.examples.ip;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of IPv4 addresses in a plain {@code int[]}: 4 bytes per address, against
+ * 50 or more for a String and its characters. Once {@link #sort() sorted}, an address's index
+ * can be looked up by binary search, so per-address state can live in parallel primitive
+ * arrays indexed the same way.
+ */
+public class Ipv4Array {
+
+    private int[] addresses;
+    private int size;
+
+    public Ipv4Array() {
+        this(16);
+    }
+
+    public Ipv4Array(int capacity) {
+        this.addresses = new int[Math.max(1, capacity)];
+    }
+
+    public void add(int address) {
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, addresses.length + (addresses.length >> 1) + 1);
+        }
+        addresses[size++] = address;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not a dotted quad
+     */
+    public void add(CharSequence address) {
+        add(Ipv4Address.parseInt(address));
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return addresses[index];
+    }
+
+    public void set(int index, int address) {
+        checkIndex(index);
+        addresses[index] = address;
+    }
+
+    public Ipv4Address getAddress(int index) {
+        return Ipv4Address.of(get(index));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts in unsigned order.
+     */
+    public void sort() {
+        // flipping the sign bit makes signed order match unsigned order
+        for (int i = 0; i < size; i++) {
+            addresses[i] ^= Integer.MIN_VALUE;
+        }
+        Arrays.sort(addresses, 0, size);
+        for (int i = 0; i < size; i++) {
+            addresses[i] ^= Integer.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Sorts and drops duplicates.
+     */
+    public void sortDistinct() {
+        sort();
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || addresses[distinct - 1] != addresses[i]) {
+                addresses[distinct++] = addresses[i];
+            }
+        }
+        size = distinct;
+    }
+
+    /**
+     * Only valid after {@link #sort()}.
+     *
+     * @return the index of the address, or {@code -(insertion point) - 1} if absent
+     */
+    public int binarySearch(int address) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = Ipv4Address.compare(addresses[mid], address);
+            if (c < 0) {
+                lo = mid + 1;
+            } else if (c > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * Only valid after {@link #sort()}.
+     */
+    public boolean contains(int address) {
+        return binarySearch(address) >= 0;
+    }
+
+    public void trimToSize() {
+        addresses = Arrays.copyOf(addresses, Math.max(1, size));
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(addresses, size);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Ipv4Array [size=" + size + ", capacity=" + addresses.length + "]";
+    }
+}
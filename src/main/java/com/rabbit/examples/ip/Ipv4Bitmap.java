@@ -0,0 +1,175 @@
+package com.rabbit.examples.ip;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A value for every IPv4 address in a memory-mapped file: one bit per address (512 MiB) for
+ * block lists, or two bits (1 GiB) for four reputation classes. A lookup is one byte load at
+ * an offset computed from the address, however many entries the list has.
+ * <p>
+ * {@link #create} maps the file read-write for building; CIDRs and ranges are filled a 64-bit
+ * word at a time, so even a /8 costs only 256 Ki stores. {@link #open} maps a finished file
+ * read-only: the pages come from the OS page cache and are shared by every process that maps
+ * the same file. The file holds nothing but the bits, little-endian, so its size gives the
+ * bits per address; a new file is sparse until filled. Building is not thread-safe, lookups are.
+ */
+public final class Ipv4Bitmap {
+
+    private static final long ADDRESSES = 1L << 32;
+
+    private final MappedByteBuffer bits;
+    private final int bitsPerAddress;
+    private final boolean writable;
+
+    private Ipv4Bitmap(MappedByteBuffer bits, int bitsPerAddress, boolean writable) {
+        this.bits = bits;
+        this.bitsPerAddress = bitsPerAddress;
+        this.writable = writable;
+        bits.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Maps the file for building, creating it if needed. Existing contents are kept.
+     *
+     * @param bitsPerAddress 1 or 2
+     */
+    public static Ipv4Bitmap create(Path file, int bitsPerAddress) throws IOException {
+        if (bitsPerAddress != 1 && bitsPerAddress != 2) {
+            throw new IllegalArgumentException("bitsPerAddress must be 1 or 2");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = ADDRESSES * bitsPerAddress / 8;
+            if (channel.size() != 0 && channel.size() != size) {
+                throw new IOException(file + " holds " + channel.size() + " bytes, not " + size);
+            }
+            return new Ipv4Bitmap(channel.map(FileChannel.MapMode.READ_WRITE, 0, size), bitsPerAddress, true);
+        }
+    }
+
+    /**
+     * Maps a built file read-only.
+     */
+    public static Ipv4Bitmap open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size != ADDRESSES / 8 && size != ADDRESSES / 4) {
+                throw new IOException(file + " is not an IPv4 bitmap, it holds " + size + " bytes");
+            }
+            return new Ipv4Bitmap(channel.map(FileChannel.MapMode.READ_ONLY, 0, size),
+                    (int) (size * 8 / ADDRESSES), false);
+        }
+    }
+
+    public int getBitsPerAddress() {
+        return bitsPerAddress;
+    }
+
+    /**
+     * @return the address's value, 0 or 1, or 0 to 3 with two bits per address
+     */
+    public int get(int address) {
+        long bit = (address & 0xffffffffL) * bitsPerAddress;
+        return (bits.get((int) (bit >>> 3)) >>> (bit & 7)) & (bitsPerAddress == 1 ? 1 : 3);
+    }
+
+    /**
+     * @return true if the address's value is not 0
+     */
+    public boolean contains(int address) {
+        return get(address) != 0;
+    }
+
+    /**
+     * @return false also if the text is not an IPv4 address
+     */
+    public boolean contains(CharSequence address) {
+        long ipv4 = IpParser.parseIpv4(address);
+        return ipv4 != IpParser.INVALID && contains((int) ipv4);
+    }
+
+    /**
+     * Sets every address of an IPv4 CIDR to 1, or to the highest class with two bits.
+     */
+    public void add(String cidr) {
+        add(cidr, bitsPerAddress == 1 ? 1 : 3);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not an IPv4 address or CIDR
+     */
+    public void add(String cidr, int value) {
+        Cidr prefix = Cidr.parse(cidr);
+        if (!prefix.ipv4) {
+            throw new IllegalArgumentException("Not an IPv4 prefix: " + cidr);
+        }
+        int first = Ipv4Address.mask((int) prefix.low, prefix.length);
+        long count = 1L << (32 - prefix.length);
+        fill(first & 0xffffffffL, count, value);
+    }
+
+    /**
+     * Sets the addresses from first to last, inclusive, to the value.
+     */
+    public void set(int first, int last, int value) {
+        if (Integer.compareUnsigned(first, last) > 0) {
+            throw new IllegalArgumentException("Range ends before it starts");
+        }
+        fill(first & 0xffffffffL, (last & 0xffffffffL) - (first & 0xffffffffL) + 1, value);
+    }
+
+    /**
+     * Writes the changes through to the file.
+     */
+    public void force() {
+        if (writable) {
+            bits.force();
+        }
+    }
+
+    private void fill(long firstAddress, long count, int value) {
+        if (!writable) {
+            throw new IllegalStateException("Bitmap is mapped read-only");
+        }
+        if (value < 0 || value >= 1 << bitsPerAddress) {
+            throw new IllegalArgumentException("Value " + value + " does not fit in " + bitsPerAddress + " bits");
+        }
+        // the value repeated in every slot of a word
+        long pattern = bitsPerAddress == 1 ? -value : value * 0x5555555555555555L;
+        long bit = firstAddress * bitsPerAddress;
+        long end = bit + count * bitsPerAddress;
+
+        // leading partial word
+        if ((bit & 63) != 0) {
+            long wordEnd = Math.min(end, (bit | 63) + 1);
+            writeBits(bit >>> 6, mask(bit & 63, wordEnd - (bit & ~63L)), pattern);
+            bit = wordEnd;
+        }
+        // whole words
+        for (; bit + 64 <= end; bit += 64) {
+            bits.putLong((int) (bit >>> 3), pattern);
+        }
+        // trailing partial word
+        if (bit < end) {
+            writeBits(bit >>> 6, mask(0, end - bit), pattern);
+        }
+    }
+
+    private void writeBits(long word, long mask, long pattern) {
+        int offset = (int) (word << 3);
+        bits.putLong(offset, (bits.getLong(offset) & ~mask) | (pattern & mask));
+    }
+
+    /**
+     * @return ones from bit {@code from} up to, not including, bit {@code to} of a word
+     */
+    private static long mask(long from, long to) {
+        long upTo = to == 64 ? -1L : (1L << to) - 1;
+        return upTo & (-1L << from);
+    }
+}
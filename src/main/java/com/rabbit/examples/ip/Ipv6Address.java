@@ -0,0 +1,132 @@
+package com.rabbit.examples.ip;
+
+/**
+ * An IPv6 address held as two {@code long}s, the high and the low 64 bits. As with
+ * {@link Ipv4Address}, the static methods work on the bare halves so {@link Ipv6Array} needs
+ * no object per address. Addresses order as unsigned 128-bit numbers.
+ */
+public final class Ipv6Address implements Comparable<Ipv6Address> {
+
+    private final long high;
+    private final long low;
+
+    private Ipv6Address(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static Ipv6Address of(long high, long low) {
+        return new Ipv6Address(high, low);
+    }
+
+    /**
+     * Accepts everything {@link IpParser#parseIpv6} does, brackets and zone included.
+     *
+     * @throws IllegalArgumentException if the text is not an IPv6 address
+     */
+    public static Ipv6Address parse(CharSequence text) {
+        long[] halves = new long[2];
+        if (!IpParser.parseIpv6(text, halves)) {
+            throw new IllegalArgumentException("Not an IPv6 address: " + text);
+        }
+        return new Ipv6Address(halves[0], halves[1]);
+    }
+
+    /**
+     * @return the IPv4 address in IPv6 form, {@code ::ffff:a.b.c.d}
+     */
+    public static Ipv6Address fromIpv4(int address) {
+        return new Ipv6Address(0, 0xffff00000000L | (address & 0xffffffffL));
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public boolean isIpv4Mapped() {
+        return IpParser.isIpv4Mapped(high, low);
+    }
+
+    public byte[] toBytes() {
+        return IpParser.toBytes(high, low);
+    }
+
+    public Ipv6Address mask(int prefixLength) {
+        return new Ipv6Address(maskHigh(high, prefixLength), maskLow(low, prefixLength));
+    }
+
+    /**
+     * @return the high half with all bits past the first {@code prefixLength} of the address cleared
+     */
+    public static long maskHigh(long high, int prefixLength) {
+        checkPrefixLength(prefixLength);
+        if (prefixLength >= 64) {
+            return high;
+        }
+        return prefixLength == 0 ? 0 : high & (-1L << (64 - prefixLength));
+    }
+
+    /**
+     * @return the low half with all bits past the first {@code prefixLength} of the address cleared
+     */
+    public static long maskLow(long low, int prefixLength) {
+        checkPrefixLength(prefixLength);
+        if (prefixLength <= 64) {
+            return 0;
+        }
+        return prefixLength == 128 ? low : low & (-1L << (128 - prefixLength));
+    }
+
+    private static void checkPrefixLength(int prefixLength) {
+        if (prefixLength < 0 || prefixLength > 128) {
+            throw new IllegalArgumentException("Invalid IPv6 prefix length: " + prefixLength);
+        }
+    }
+
+    public static int compare(long highA, long lowA, long highB, long lowB) {
+        int c = Long.compareUnsigned(highA, highB);
+        return c != 0 ? c : Long.compareUnsigned(lowA, lowB);
+    }
+
+    public static int hash(long high, long low) {
+        long h = (high * 0x9e3779b97f4a7c15L) ^ low;
+        h *= 0xbf58476d1ce4e5b9L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @return all eight groups in lower case hex, the form IpHelper.makeCanonicalAddress
+     *         produces for addresses that are not IPv4-mapped
+     */
+    public static String format(long high, long low) {
+        return IpParser.appendIpv6(new StringBuilder(39), high, low).toString();
+    }
+
+    @Override
+    public int compareTo(Ipv6Address other) {
+        return compare(high, low, other.high, other.low);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof Ipv6Address)) {
+            return false;
+        }
+        Ipv6Address other = (Ipv6Address) obj;
+        return other.high == high && other.low == low;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash(high, low);
+    }
+
+    @Override
+    public String toString() {
+        return format(high, low);
+    }
+}
@@ -0,0 +1,205 @@
+package com.rabbit.examples.ip;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of IPv6 addresses in a single {@code long[]}, the high and low half of each
+ * address side by side: 16 bytes per address. Like {@link Ipv4Array} it can be sorted and
+ * searched so per-address state can live in parallel primitive arrays.
+ */
+public class Ipv6Array {
+
+    // below this many addresses insertion sort beats partitioning
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private long[] halves;
+    private int size;
+
+    public Ipv6Array() {
+        this(16);
+    }
+
+    public Ipv6Array(int capacity) {
+        this.halves = new long[2 * Math.max(1, capacity)];
+    }
+
+    public void add(long high, long low) {
+        if (2 * size == halves.length) {
+            halves = Arrays.copyOf(halves, 2 * (size + (size >> 1) + 1));
+        }
+        halves[2 * size] = high;
+        halves[2 * size + 1] = low;
+        size++;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not an IPv6 address
+     */
+    public void add(CharSequence address) {
+        Ipv6Address parsed = Ipv6Address.parse(address);
+        add(parsed.getHigh(), parsed.getLow());
+    }
+
+    public long getHigh(int index) {
+        checkIndex(index);
+        return halves[2 * index];
+    }
+
+    public long getLow(int index) {
+        checkIndex(index);
+        return halves[2 * index + 1];
+    }
+
+    public Ipv6Address getAddress(int index) {
+        return Ipv6Address.of(getHigh(index), getLow(index));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Sorts in unsigned 128-bit order.
+     */
+    public void sort() {
+        // flipping the sign bits makes signed order match unsigned order
+        flipSignBits();
+        quickSort(0, size - 1);
+        flipSignBits();
+    }
+
+    /**
+     * Sorts and drops duplicates.
+     */
+    public void sortDistinct() {
+        sort();
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || halves[2 * distinct - 2] != halves[2 * i] || halves[2 * distinct - 1] != halves[2 * i + 1]) {
+                halves[2 * distinct] = halves[2 * i];
+                halves[2 * distinct + 1] = halves[2 * i + 1];
+                distinct++;
+            }
+        }
+        size = distinct;
+    }
+
+    /**
+     * Only valid after {@link #sort()}.
+     *
+     * @return the index of the address, or {@code -(insertion point) - 1} if absent
+     */
+    public int binarySearch(long high, long low) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = Ipv6Address.compare(halves[2 * mid], halves[2 * mid + 1], high, low);
+            if (c < 0) {
+                lo = mid + 1;
+            } else if (c > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    /**
+     * Only valid after {@link #sort()}.
+     */
+    public boolean contains(long high, long low) {
+        return binarySearch(high, low) >= 0;
+    }
+
+    public void trimToSize() {
+        halves = Arrays.copyOf(halves, 2 * Math.max(1, size));
+    }
+
+    private void flipSignBits() {
+        for (int i = 0; i < 2 * size; i++) {
+            halves[i] ^= Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Signed quicksort of the pairs in [lo, hi], recursing into the smaller side only.
+     */
+    private void quickSort(int lo, int hi) {
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int mid = (lo + hi) >>> 1;
+            // median of three as pivot
+            if (less(mid, lo)) {
+                swap(mid, lo);
+            }
+            if (less(hi, lo)) {
+                swap(hi, lo);
+            }
+            if (less(hi, mid)) {
+                swap(hi, mid);
+            }
+            long pivotHigh = halves[2 * mid];
+            long pivotLow = halves[2 * mid + 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (lessThan(i, pivotHigh, pivotLow)) {
+                    i++;
+                }
+                while (greaterThan(j, pivotHigh, pivotLow)) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (j - lo < hi - i) {
+                quickSort(lo, j);
+                lo = i;
+            } else {
+                quickSort(i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            for (int j = i; j > lo && less(j, j - 1); j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private boolean less(int a, int b) {
+        return lessThan(a, halves[2 * b], halves[2 * b + 1]);
+    }
+
+    private boolean lessThan(int index, long high, long low) {
+        long h = halves[2 * index];
+        return h < high || (h == high && halves[2 * index + 1] < low);
+    }
+
+    private boolean greaterThan(int index, long high, long low) {
+        long h = halves[2 * index];
+        return h > high || (h == high && halves[2 * index + 1] > low);
+    }
+
+    private void swap(int a, int b) {
+        long high = halves[2 * a];
+        long low = halves[2 * a + 1];
+        halves[2 * a] = halves[2 * b];
+        halves[2 * a + 1] = halves[2 * b + 1];
+        halves[2 * b] = high;
+        halves[2 * b + 1] = low;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Ipv6Array [size=" + size + ", capacity=" + halves.length / 2 + "]";
+    }
+}
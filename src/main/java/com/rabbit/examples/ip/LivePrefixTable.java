@@ -0,0 +1,52 @@
+package com.rabbit.examples.ip;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The current version of a {@link PrefixTable}. Readers take whatever table is published
+ * with a single volatile read and never lock; a writer builds a complete new table off to the
+ * side and swaps it in atomically, so a lookup sees either the old or the new prefixes, never a
+ * mix, and each of several concurrent writers gets back a different predecessor.
+ */
+public class LivePrefixTable<V> {
+
+    private final AtomicReference<PrefixTable<V>> table;
+
+    public LivePrefixTable(PrefixTable<V> initial) {
+        this.table = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Loads a prefix file into a new {@code LivePrefixTable}.
+     */
+    public static LivePrefixTable<String> load(Path file) throws IOException {
+        return new LivePrefixTable<>(PrefixTable.load(file));
+    }
+
+    public PrefixTable<V> get() {
+        return table.get();
+    }
+
+    /**
+     * Makes the table visible to all subsequent lookups.
+     *
+     * @return the table it replaced
+     */
+    public PrefixTable<V> publish(PrefixTable<V> next) {
+        return table.getAndSet(next);
+    }
+
+    public V lookup(int ipv4Address) {
+        return table.get().lookup(ipv4Address);
+    }
+
+    public V lookup(long high, long low) {
+        return table.get().lookup(high, low);
+    }
+
+    public V lookup(CharSequence address) {
+        return table.get().lookup(address);
+    }
+}
@@ -0,0 +1,375 @@
+package com.rabbit.examples.ip;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable longest-prefix-match table over IPv4 and IPv6 CIDR prefixes, each mapped to a
+ * value. Each address family is a path-compressed binary (Patricia) trie whose nodes live in
+ * parallel primitive arrays: a node is only created where prefixes branch or where a prefix
+ * ends, so N prefixes take at most 2N nodes however long they are. Lookups walk at most one
+ * node per branching bit and allocate nothing.
+ * <p>
+ * IPv4-mapped IPv6 addresses are looked up among the IPv4 prefixes. Tables are built with a
+ * {@link Builder} or {@link #load(Path) loaded} from a file; to change one, build a new
+ * table and publish it through a {@link LivePrefixTable}.
+ */
+public final class PrefixTable<V> {
+
+    private static final ThreadLocal<long[]> IPV6_SCRATCH = ThreadLocal.withInitial(() -> new long[2]);
+
+    private final Trie ipv4;
+    private final Trie ipv6;
+    private final Object[] values;
+
+    private PrefixTable(Trie ipv4, Trie ipv6, Object[] values) {
+        this.ipv4 = ipv4;
+        this.ipv6 = ipv6;
+        this.values = values;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return the value of the longest prefix containing the address, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V lookup(int ipv4Address) {
+        int value = ipv4.lookup((ipv4Address & 0xffffffffL) << 32, 0);
+        return value < 0 ? null : (V) values[value];
+    }
+
+    /**
+     * @return the value of the longest prefix containing the address, or null
+     */
+    @SuppressWarnings("unchecked")
+    public V lookup(long high, long low) {
+        if (IpParser.isIpv4Mapped(high, low)) {
+            return lookup((int) low);
+        }
+        int value = ipv6.lookup(high, low);
+        return value < 0 ? null : (V) values[value];
+    }
+
+    /**
+     * @return the value of the longest prefix containing the address, or null if there is
+     *         none or the text is not an IP address
+     */
+    public V lookup(CharSequence address) {
+        long ipv4Address = IpParser.parseIpv4(address);
+        if (ipv4Address != IpParser.INVALID) {
+            return lookup((int) ipv4Address);
+        }
+        long[] ipv6Address = IPV6_SCRATCH.get();
+        if (IpParser.parseIpv6(address, ipv6Address)) {
+            return lookup(ipv6Address[0], ipv6Address[1]);
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of distinct prefixes
+     */
+    public int size() {
+        return ipv4.prefixes + ipv6.prefixes;
+    }
+
+    /**
+     * @return the number of trie nodes of both families
+     */
+    public int getNodeCount() {
+        return ipv4.nodes + ipv6.nodes;
+    }
+
+    /**
+     * Reads one prefix per line, {@code address/length} optionally followed by white space and
+     * a value; without a value the prefix text itself is the value. An address without a
+     * length is a host route. Blank lines and '#' comments are skipped.
+     *
+     * @throws IOException if the file cannot be read or a line is not a prefix
+     */
+    public static PrefixTable<String> load(Path file) throws IOException {
+        Builder<String> builder = builder();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int lineNumber = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int end = 0;
+                while (end < line.length() && !Character.isWhitespace(line.charAt(end))) {
+                    end++;
+                }
+                String prefix = line.substring(0, end);
+                String value = end == line.length() ? prefix : line.substring(end).trim();
+                try {
+                    builder.add(prefix, value);
+                } catch (IllegalArgumentException e) {
+                    throw new IOException(file + ":" + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Collects prefixes; when the same prefix is added twice the later value wins. Host bits
+     * beyond the prefix length are ignored.
+     */
+    public static final class Builder<V> {
+        private final Keys ipv4 = new Keys();
+        private final Keys ipv6 = new Keys();
+        private final List<V> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param cidr an IPv4 or IPv6 address, optionally followed by {@code /length}
+         * @throws IllegalArgumentException if it is not
+         */
+        public Builder<V> add(CharSequence cidr, V value) {
+            Cidr prefix = Cidr.parse(cidr.toString());
+            if (prefix.ipv4) {
+                return addIpv4((int) prefix.low, prefix.length, value);
+            }
+            return addIpv6(prefix.high, prefix.low, prefix.length, value);
+        }
+
+        public Builder<V> addIpv4(int address, int prefixLength, V value) {
+            long high = Ipv6Address.maskHigh((address & 0xffffffffL) << 32, Cidr.checkLength(prefixLength, 32));
+            ipv4.add(high, 0, prefixLength, values.size());
+            values.add(value);
+            return this;
+        }
+
+        public Builder<V> addIpv6(long high, long low, int prefixLength, V value) {
+            Cidr.checkLength(prefixLength, 128);
+            ipv6.add(Ipv6Address.maskHigh(high, prefixLength), Ipv6Address.maskLow(low, prefixLength),
+                    prefixLength, values.size());
+            values.add(value);
+            return this;
+        }
+
+        public PrefixTable<V> build() {
+            return new PrefixTable<>(ipv4.build(), ipv6.build(), values.toArray());
+        }
+    }
+
+    /**
+     * The prefixes of one family as the builder collects them: keys left-aligned in 128 bits.
+     */
+    private static final class Keys {
+        long[] highs = new long[16];
+        long[] lows = new long[16];
+        int[] lengths = new int[16];
+        int[] values = new int[16];
+        int size;
+
+        void add(long high, long low, int length, int value) {
+            if (size == highs.length) {
+                int capacity = size * 2;
+                highs = Arrays.copyOf(highs, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            highs[size] = high;
+            lows[size] = low;
+            lengths[size] = length;
+            values[size] = value;
+            size++;
+        }
+
+        Trie build() {
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            mergeSort(order, new int[size], 0, size);
+
+            // of equal prefixes keep the last added, the sort is stable
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (i + 1 < size && compare(order[i], order[i + 1]) == 0) {
+                    continue;
+                }
+                order[distinct++] = order[i];
+            }
+            return new Trie(this, order, distinct);
+        }
+
+        /**
+         * Orders by key, unsigned, then by length, so a prefix comes right before the longer
+         * prefixes it contains.
+         */
+        int compare(int a, int b) {
+            int c = Ipv6Address.compare(highs[a], lows[a], highs[b], lows[b]);
+            return c != 0 ? c : Integer.compare(lengths[a], lengths[b]);
+        }
+
+        private void mergeSort(int[] order, int[] scratch, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            mergeSort(order, scratch, from, mid);
+            mergeSort(order, scratch, mid, to);
+            if (compare(order[mid - 1], order[mid]) <= 0) {
+                return;
+            }
+            System.arraycopy(order, from, scratch, from, to - from);
+            for (int i = from, a = from, b = mid; i < to; i++) {
+                if (b >= to || (a < mid && compare(scratch[a], scratch[b]) <= 0)) {
+                    order[i] = scratch[a++];
+                } else {
+                    order[i] = scratch[b++];
+                }
+            }
+        }
+    }
+
+    /**
+     * Path-compressed binary trie in parallel arrays. A node covers the prefix
+     * {@code keyHigh/keyLow} of {@code lengths} bits; its children continue with the next bit
+     * 0 or 1. {@code values} holds the index of the node's own value, or -1.
+     */
+    private static final class Trie {
+        final int prefixes;
+        int nodes;
+        long[] keyHighs;
+        long[] keyLows;
+        byte[] lengths;
+        int[] values;
+        int[] zeros;
+        int[] ones;
+        final int root;
+
+        Trie(Keys keys, int[] order, int count) {
+            this.prefixes = count;
+            // every node either ends a prefix or branches two ways
+            int capacity = Math.max(1, 2 * count);
+            keyHighs = new long[capacity];
+            keyLows = new long[capacity];
+            lengths = new byte[capacity];
+            values = new int[capacity];
+            zeros = new int[capacity];
+            ones = new int[capacity];
+            root = count == 0 ? -1 : build(keys, order, 0, count);
+
+            keyHighs = Arrays.copyOf(keyHighs, nodes);
+            keyLows = Arrays.copyOf(keyLows, nodes);
+            lengths = Arrays.copyOf(lengths, nodes);
+            values = Arrays.copyOf(values, nodes);
+            zeros = Arrays.copyOf(zeros, nodes);
+            ones = Arrays.copyOf(ones, nodes);
+        }
+
+        /**
+         * Builds the subtrie for the sorted prefixes {@code order[from, to)}, which share at
+         * least the bits of the parent node.
+         */
+        private int build(Keys keys, int[] order, int from, int to) {
+            int first = order[from];
+            int last = order[to - 1];
+            int shortest = 128;
+            for (int i = from; i < to; i++) {
+                shortest = Math.min(shortest, keys.lengths[order[i]]);
+            }
+            int length = Math.min(shortest,
+                    commonPrefixLength(keys.highs[first], keys.lows[first], keys.highs[last], keys.lows[last]));
+
+            int node = nodes++;
+            keyHighs[node] = Ipv6Address.maskHigh(keys.highs[first], length);
+            keyLows[node] = Ipv6Address.maskLow(keys.lows[first], length);
+            lengths[node] = (byte) length;
+            values[node] = -1;
+            zeros[node] = -1;
+            ones[node] = -1;
+            // a prefix this short covers all the others and sorts first
+            if (keys.lengths[first] == length) {
+                values[node] = keys.values[first];
+                from++;
+            }
+
+            int split = from;
+            while (split < to && bit(keys.highs[order[split]], keys.lows[order[split]], length) == 0) {
+                split++;
+            }
+            if (split > from) {
+                int child = build(keys, order, from, split);
+                zeros[node] = child;
+            }
+            if (split < to) {
+                int child = build(keys, order, split, to);
+                ones[node] = child;
+            }
+            return node;
+        }
+
+        /**
+         * @return the value index of the longest prefix containing the address, or -1
+         */
+        int lookup(long high, long low) {
+            int best = -1;
+            int node = root;
+            while (node >= 0) {
+                int length = lengths[node] & 0xff;
+                if (!covers(keyHighs[node], keyLows[node], length, high, low)) {
+                    break;
+                }
+                if (values[node] >= 0) {
+                    best = values[node];
+                }
+                if (length == 128) {
+                    break;
+                }
+                node = bit(high, low, length) == 0 ? zeros[node] : ones[node];
+            }
+            return best;
+        }
+
+        private static boolean covers(long keyHigh, long keyLow, int length, long high, long low) {
+            if (length <= 64) {
+                return length == 0 || ((keyHigh ^ high) & (-1L << (64 - length))) == 0;
+            }
+            return keyHigh == high && (length == 128 ? keyLow == low : ((keyLow ^ low) & (-1L << (128 - length))) == 0);
+        }
+
+        private static int commonPrefixLength(long highA, long lowA, long highB, long lowB) {
+            if (highA != highB) {
+                return Long.numberOfLeadingZeros(highA ^ highB);
+            }
+            return 64 + Long.numberOfLeadingZeros(lowA ^ lowB);
+        }
+
+        private static int bit(long high, long low, int index) {
+            return (int) (index < 64 ? (high >>> (63 - index)) & 1 : (low >>> (127 - index)) & 1);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("usage: java PrefixTable prefixFile [address ...]");
+            System.exit(-1);
+        }
+        long started = System.nanoTime();
+        PrefixTable<String> table = load(Paths.get(args[0]));
+        System.out.format("Loaded %d prefixes into %d nodes in %d ms\n", table.size(), table.getNodeCount(),
+                (System.nanoTime() - started) / 1000000);
+        for (int i = 1; i < args.length; i++) {
+            System.out.format("%s -> %s\n", args[i], table.lookup(args[i]));
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.rabbit.examples.ip;
+
+/**
+ * Subnet arithmetic on bare addresses: IPv4 as an {@code int}, IPv6 as its high and low
+ * {@code long}s, as in {@link Ipv4Address} and {@link Ipv6Address}. Nothing here allocates
+ * or resolves names; enumerations hand each prefix to a callback instead of building a list.
+ * <p>
+ * IPv4 host ranges follow RFC 3021: a /31 has two usable hosts and a /32 has one. IPv6 has no
+ * broadcast address, so its hosts run to the last address of the prefix; they start after the
+ * Subnet-Router anycast address (RFC 4291) except in a /127 or /128 (RFC 6164).
+ * <p>
+ * IPv6 results are 128 bits, so each comes as a pair of methods returning the high and the low
+ * half.
+ */
+public final class Subnets {
+
+    private static final long IPV4_MASK = 0xffffffffL;
+
+    private Subnets() {
+    }
+
+    /**
+     * Receives an IPv4 prefix.
+     */
+    @FunctionalInterface
+    public interface Ipv4PrefixConsumer {
+        void accept(int network, int prefixLength);
+    }
+
+    /**
+     * Receives an IPv6 prefix.
+     */
+    @FunctionalInterface
+    public interface Ipv6PrefixConsumer {
+        void accept(long high, long low, int prefixLength);
+    }
+
+    // IPv4
+
+    /**
+     * @return the netmask of a prefix length, e.g. 0xffffff00 for 24
+     */
+    public static int netmask(int prefixLength) {
+        return Ipv4Address.mask(-1, prefixLength);
+    }
+
+    /**
+     * @return the prefix length of a netmask, or -1 if its ones are not contiguous
+     */
+    public static int prefixLength(int netmask) {
+        int inverse = ~netmask;
+        return (inverse & (inverse + 1)) == 0 ? 32 - Integer.bitCount(inverse) : -1;
+    }
+
+    public static int network(int address, int prefixLength) {
+        return Ipv4Address.mask(address, prefixLength);
+    }
+
+    public static int broadcast(int address, int prefixLength) {
+        return address | ~netmask(prefixLength);
+    }
+
+    /**
+     * @return how many addresses the prefix covers, from 1 to 2^32
+     */
+    public static long size(int prefixLength) {
+        netmask(prefixLength);
+        return 1L << (32 - prefixLength);
+    }
+
+    public static int firstHost(int address, int prefixLength) {
+        int network = network(address, prefixLength);
+        return prefixLength >= 31 ? network : network + 1;
+    }
+
+    public static int lastHost(int address, int prefixLength) {
+        int broadcast = broadcast(address, prefixLength);
+        return prefixLength >= 31 ? broadcast : broadcast - 1;
+    }
+
+    /**
+     * @return the number of usable host addresses, without network and broadcast
+     */
+    public static long hostCount(int prefixLength) {
+        long size = size(prefixLength);
+        return prefixLength >= 31 ? size : size - 2;
+    }
+
+    public static boolean contains(int network, int prefixLength, int address) {
+        return ((network ^ address) & netmask(prefixLength)) == 0;
+    }
+
+    /**
+     * @return true if the second prefix lies wholly inside the first
+     */
+    public static boolean contains(int network, int prefixLength, int otherNetwork, int otherPrefixLength) {
+        Cidr.checkLength(otherPrefixLength, 32);
+        return otherPrefixLength >= prefixLength && contains(network, prefixLength, otherNetwork);
+    }
+
+    /**
+     * @return the network address of the {@code index}th subnet of length {@code subnetLength}
+     *         inside the prefix, counting from 0
+     */
+    public static int subnet(int network, int prefixLength, int subnetLength, long index) {
+        checkSubnet(prefixLength, subnetLength, 32, index);
+        return network(network, prefixLength) | (int) (index << (32 - subnetLength));
+    }
+
+    /**
+     * @return the network address of the prefix one bit shorter that contains this one
+     */
+    public static int supernet(int address, int prefixLength) {
+        checkSupernet(prefixLength);
+        return network(address, prefixLength - 1);
+    }
+
+    /**
+     * Hands every subnet of length {@code subnetLength} inside the prefix to the consumer, in
+     * address order.
+     */
+    public static void forEachSubnet(int network, int prefixLength, int subnetLength, Ipv4PrefixConsumer consumer) {
+        checkSubnet(prefixLength, subnetLength, 32);
+        long first = network(network, prefixLength) & IPV4_MASK;
+        long step = 1L << (32 - subnetLength);
+        long end = first + size(prefixLength);
+        for (long subnet = first; subnet < end; subnet += step) {
+            consumer.accept((int) subnet, subnetLength);
+        }
+    }
+
+    /**
+     * Hands the fewest prefixes that exactly cover {@code [first, last]} to the consumer, in
+     * address order.
+     */
+    public static void forEachCidr(int first, int last, Ipv4PrefixConsumer consumer) {
+        long start = first & IPV4_MASK;
+        long end = last & IPV4_MASK;
+        if (start > end) {
+            throw new IllegalArgumentException("Range ends before it starts");
+        }
+        while (start <= end) {
+            // the largest block aligned at start that does not run past end
+            int bits = start == 0 ? 32 : Long.numberOfTrailingZeros(start);
+            while (start + (1L << bits) - 1 > end) {
+                bits--;
+            }
+            consumer.accept((int) start, 32 - bits);
+            start += 1L << bits;
+        }
+    }
+
+    // IPv6
+
+    public static long netmaskHigh(int prefixLength) {
+        return Ipv6Address.maskHigh(-1L, prefixLength);
+    }
+
+    public static long netmaskLow(int prefixLength) {
+        return Ipv6Address.maskLow(-1L, prefixLength);
+    }
+
+    /**
+     * @return the prefix length of an IPv6 netmask, or -1 if its ones are not contiguous
+     */
+    public static int prefixLength(long netmaskHigh, long netmaskLow) {
+        if (netmaskHigh == -1L) {
+            long inverse = ~netmaskLow;
+            return (inverse & (inverse + 1)) == 0 ? 128 - Long.bitCount(inverse) : -1;
+        }
+        long inverse = ~netmaskHigh;
+        return netmaskLow == 0 && (inverse & (inverse + 1)) == 0 ? 64 - Long.bitCount(inverse) : -1;
+    }
+
+    public static long networkHigh(long high, int prefixLength) {
+        return Ipv6Address.maskHigh(high, prefixLength);
+    }
+
+    public static long networkLow(long low, int prefixLength) {
+        return Ipv6Address.maskLow(low, prefixLength);
+    }
+
+    /**
+     * @return the high half of the last address of the prefix
+     */
+    public static long lastHigh(long high, int prefixLength) {
+        return high | ~netmaskHigh(prefixLength);
+    }
+
+    /**
+     * @return the low half of the last address of the prefix
+     */
+    public static long lastLow(long low, int prefixLength) {
+        return low | ~netmaskLow(prefixLength);
+    }
+
+    public static long firstHostHigh(long high, int prefixLength) {
+        return networkHigh(high, prefixLength);
+    }
+
+    public static long firstHostLow(long low, int prefixLength) {
+        // the network's lowest bit is clear below a /128, so adding one never carries
+        long network = networkLow(low, prefixLength);
+        return prefixLength >= 127 ? network : network | 1;
+    }
+
+    public static long lastHostHigh(long high, int prefixLength) {
+        return lastHigh(high, prefixLength);
+    }
+
+    public static long lastHostLow(long low, int prefixLength) {
+        return lastLow(low, prefixLength);
+    }
+
+    public static boolean contains(long networkHigh, long networkLow, int prefixLength, long high, long low) {
+        return Ipv6Address.maskHigh(networkHigh ^ high, prefixLength) == 0
+                && Ipv6Address.maskLow(networkLow ^ low, prefixLength) == 0;
+    }
+
+    /**
+     * @return the high half of the network address of the {@code index}th subnet of length
+     *         {@code subnetLength} inside the prefix, counting from 0
+     */
+    public static long subnetHigh(long networkHigh, int prefixLength, int subnetLength, long index) {
+        checkSubnet(prefixLength, subnetLength, 128, index);
+        int shift = 128 - subnetLength;
+        long offset = shift >= 64 ? index << (shift - 64) : shift == 0 ? 0 : index >>> (64 - shift);
+        return networkHigh(networkHigh, prefixLength) | offset;
+    }
+
+    /**
+     * @return the low half of the network address of the {@code index}th subnet of length
+     *         {@code subnetLength} inside the prefix, counting from 0
+     */
+    public static long subnetLow(long networkLow, int prefixLength, int subnetLength, long index) {
+        checkSubnet(prefixLength, subnetLength, 128, index);
+        int shift = 128 - subnetLength;
+        return networkLow(networkLow, prefixLength) | (shift >= 64 ? 0 : index << shift);
+    }
+
+    /**
+     * @return the high half of the network address of the prefix one bit shorter that
+     *         contains this one
+     */
+    public static long supernetHigh(long high, int prefixLength) {
+        checkSupernet(prefixLength);
+        return networkHigh(high, prefixLength - 1);
+    }
+
+    /**
+     * @return the low half of the network address of the prefix one bit shorter that contains
+     *         this one
+     */
+    public static long supernetLow(long low, int prefixLength) {
+        checkSupernet(prefixLength);
+        return networkLow(low, prefixLength - 1);
+    }
+
+    /**
+     * Hands every subnet of length {@code subnetLength} inside the prefix to the consumer, in
+     * address order.
+     */
+    public static void forEachSubnet(long networkHigh, long networkLow, int prefixLength, int subnetLength,
+            Ipv6PrefixConsumer consumer) {
+        checkSubnet(prefixLength, subnetLength, 128);
+        long high = networkHigh(networkHigh, prefixLength);
+        long low = networkLow(networkLow, prefixLength);
+        long endHigh = lastHigh(high, prefixLength);
+        long endLow = lastLow(low, prefixLength);
+        int shift = 128 - subnetLength;
+        for (;;) {
+            consumer.accept(high, low, subnetLength);
+            if (lastHigh(high, subnetLength) == endHigh && lastLow(low, subnetLength) == endLow) {
+                return;
+            }
+            if (shift >= 64) {
+                high += 1L << (shift - 64);
+            } else {
+                // low is aligned, so it wraps to exactly 0 when it carries
+                low += 1L << shift;
+                if (low == 0) {
+                    high++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Hands the fewest prefixes that exactly cover {@code [first, last]} to the consumer, in
+     * address order.
+     */
+    public static void forEachCidr(long firstHigh, long firstLow, long lastHigh, long lastLow,
+            Ipv6PrefixConsumer consumer) {
+        if (Ipv6Address.compare(firstHigh, firstLow, lastHigh, lastLow) > 0) {
+            throw new IllegalArgumentException("Range ends before it starts");
+        }
+        long high = firstHigh;
+        long low = firstLow;
+        for (;;) {
+            int bits = low != 0 ? Long.numberOfTrailingZeros(low)
+                    : high != 0 ? 64 + Long.numberOfTrailingZeros(high) : 128;
+            long blockHigh;
+            long blockLow;
+            // shrink the block aligned at the start until its last address is in the range
+            for (;; bits--) {
+                blockHigh = bits <= 64 ? high : high | (bits == 128 ? -1L : (1L << (bits - 64)) - 1);
+                blockLow = bits >= 64 ? -1L : low | ((1L << bits) - 1);
+                if (Ipv6Address.compare(blockHigh, blockLow, lastHigh, lastLow) <= 0) {
+                    break;
+                }
+            }
+            consumer.accept(high, low, 128 - bits);
+            if (blockHigh == lastHigh && blockLow == lastLow) {
+                return;
+            }
+            low = blockLow + 1;
+            high = low == 0 ? blockHigh + 1 : blockHigh;
+        }
+    }
+
+    private static void checkSubnet(int prefixLength, int subnetLength, int maxLength) {
+        if (prefixLength < 0 || subnetLength < prefixLength || subnetLength > maxLength) {
+            throw new IllegalArgumentException("Invalid subnet length /" + subnetLength + " of a /" + prefixLength);
+        }
+    }
+
+    private static void checkSubnet(int prefixLength, int subnetLength, int maxLength, long index) {
+        checkSubnet(prefixLength, subnetLength, maxLength);
+        int bits = subnetLength - prefixLength;
+        if (index < 0 || bits < 63 && index >= 1L << bits) {
+            throw new IllegalArgumentException("No subnet " + index + " of /" + subnetLength + " in a /" + prefixLength);
+        }
+    }
+
+    private static void checkSupernet(int prefixLength) {
+        if (prefixLength == 0) {
+            throw new IllegalArgumentException("A /0 has no supernet");
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.rabbit.examples.lucene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+
+/**
+ * What an indexed document remembers about the file it was built from: size and modification
+ * time, which are cheap to compare against a fresh {@code stat}, and optionally a content hash,
+ * which settles the question when they differ. The hash is null when it was never computed.
+ */
+public final class FileFingerprint {
+
+    private final long size;
+    private final long lastModified;
+    private final byte[] hash;
+
+    public FileFingerprint(long size, long lastModified, byte[] hash) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    public static FileFingerprint of(BasicFileAttributes attrs) {
+        return new FileFingerprint(attrs.size(), attrs.lastModifiedTime().toMillis(), null);
+    }
+
+    public static FileFingerprint of(Path file) throws IOException {
+        return of(Files.readAttributes(file, BasicFileAttributes.class));
+    }
+
+    public FileFingerprint withHash(byte[] hash) {
+        return new FileFingerprint(size, lastModified, hash);
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public byte[] getHash() {
+        return hash;
+    }
+
+    /**
+     * @return true if size and modification time both match, i.e. the file is assumed unchanged.
+     */
+    public boolean sameStat(FileFingerprint other) {
+        return size == other.size && lastModified == other.lastModified;
+    }
+
+    /**
+     * @return true if both fingerprints carry a hash and the hashes are equal.
+     */
+    public boolean sameContent(FileFingerprint other) {
+        return hash != null && other.hash != null && Arrays.equals(hash, other.hash);
+    }
+
+    @Override
+    public String toString() {
+        return "FileFingerprint [size=" + size + ", lastModified=" + lastModified + "]";
+    }
+}
@@ -0,0 +1,68 @@
+package com.rabbit.examples.lucene;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.store.RAMDirectory;
+
+/**
+ * The {@link Directory} implementations an index can be opened with. {@code FSDirectory.open}
+ * picks one behind the caller's back; naming it makes the trade-off visible.
+ */
+public enum IndexStorage {
+
+    /**
+     * Memory-mapped files. Best default on 64-bit JVMs, pages are served from the OS page cache.
+     */
+    MMAP {
+        @Override
+        public Directory open(Path path) throws IOException {
+            return new MMapDirectory(path);
+        }
+    },
+
+    /**
+     * Positional reads through a {@code FileChannel}. Useful where mapping is restricted.
+     */
+    NIOFS {
+        @Override
+        public Directory open(Path path) throws IOException {
+            return new NIOFSDirectory(path);
+        }
+    },
+
+    /**
+     * Copies an existing on-disk index into the Java heap. Only for small, hot indexes; changes
+     * are not written back. (Lucene 7 has no ByteBuffersDirectory yet, so this is a RAMDirectory.)
+     */
+    HEAP {
+        @Override
+        public Directory open(Path path) throws IOException {
+            if (!Files.isDirectory(path)) {
+                return new RAMDirectory();
+            }
+            try (FSDirectory source = FSDirectory.open(path)) {
+                return new RAMDirectory(source, IOContext.READONCE);
+            }
+        }
+    };
+
+    public abstract Directory open(Path path) throws IOException;
+
+    /**
+     * Opens the directory, asking for mapped files to be paged in up front where supported.
+     */
+    public Directory open(Path path, boolean preload) throws IOException {
+        Directory directory = open(path);
+        if (preload && directory instanceof MMapDirectory) {
+            ((MMapDirectory) directory).setPreload(true);
+        }
+        return directory;
+    }
+}
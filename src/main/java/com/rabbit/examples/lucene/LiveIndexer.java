@@ -0,0 +1,200 @@
+package com.rabbit.examples.lucene;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import com.rabbit.examples.Event;
+import com.rabbit.examples.EventCoalescer;
+import com.rabbit.examples.EventDispatcher;
+import com.rabbit.examples.EventHandler;
+import com.rabbit.examples.WatchDir;
+
+/**
+ * Keeps a Lucene index in step with a directory tree watched by {@link WatchDir}. Create and
+ * modify events become {@code updateDocument} calls keyed on the {@code path} field and delete
+ * events become {@code deleteDocuments} calls. Changes are buffered in a long-lived
+ * {@link IndexWriter} and committed once {@code maxBatchSize} changes are pending or the oldest
+ * pending change is {@code maxBatchDelayMillis} old, whichever comes first. The indexer is an
+ * {@link EventHandler}, so an {@link EventDispatcher} can feed it from several threads.
+ */
+public class LiveIndexer implements EventHandler, Closeable {
+
+    private final IndexWriter indexWriter;
+    private final int maxBatchSize;
+    private final long maxBatchDelayMillis;
+    private final ScheduledExecutorService committer;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile long firstPendingAt;
+
+    public LiveIndexer(Directory indexDirectory, Analyzer analyzer, int maxBatchSize,
+            long maxBatchDelayMillis) throws IOException {
+        this.indexWriter = new IndexWriter(indexDirectory, new IndexWriterConfig(analyzer));
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+
+        // flushes the last partial batch once events stop arriving
+        this.committer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "live-indexer-commit");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        long period = Math.max(10, maxBatchDelayMillis / 4);
+        committer.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    maybeCommit();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Applies a single watch event to the index, committing if a threshold has been reached.
+     */
+    @Override
+    public void handle(Event event) throws IOException {
+        Path path = event.getPath().toAbsolutePath();
+        WatchEvent.Kind<?> kind = event.getKind();
+
+        if (kind == ENTRY_DELETE) {
+            delete(path);
+        } else if (kind == ENTRY_CREATE || kind == ENTRY_MODIFY) {
+            if (Files.isDirectory(path)) {
+                // A directory's own modify events only signal changes to its entries, which
+                // are reported separately. A new directory may already hold files, though.
+                if (kind == ENTRY_CREATE) {
+                    indexTree(path);
+                }
+            } else {
+                indexFile(path);
+            }
+        }
+        maybeCommit();
+    }
+
+    /**
+     * Commits pending changes if the batch is full or the oldest change has waited long enough.
+     */
+    public synchronized void maybeCommit() throws IOException {
+        int count = pending.get();
+        if (count == 0) {
+            return;
+        }
+        if (count >= maxBatchSize
+                || System.currentTimeMillis() - firstPendingAt >= maxBatchDelayMillis) {
+            commit();
+        }
+    }
+
+    public synchronized void commit() throws IOException {
+        // Reset first: changes racing with the commit are counted again and committed next time.
+        pending.set(0);
+        indexWriter.commit();
+    }
+
+    @Override
+    public void close() throws IOException {
+        committer.shutdown();
+        indexWriter.close();
+    }
+
+    private void indexFile(Path file) throws IOException {
+        Term key = new Term(LuceneFileSearch.PATH_FIELD, file.toString());
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            FileFingerprint fingerprint = FileFingerprint.of(file);
+            indexWriter.updateDocument(key, LuceneFileSearch.createDocument(file, reader, fingerprint));
+        } catch (NoSuchFileException e) {
+            // removed before we got to it, the delete event follows
+            indexWriter.deleteDocuments(key);
+        }
+        changed();
+    }
+
+    private void indexTree(Path dir) throws IOException {
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (attrs.isRegularFile()) {
+                    indexFile(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void delete(Path path) throws IOException {
+        // The path may have been a file or a whole directory, there is no way to tell any more.
+        indexWriter.deleteDocuments(new Term(LuceneFileSearch.PATH_FIELD, path.toString()));
+        indexWriter.deleteDocuments(
+                new PrefixQuery(new Term(LuceneFileSearch.PATH_FIELD, path.toString() + File.separator)));
+        changed();
+    }
+
+    private void changed() {
+        if (pending.getAndIncrement() == 0) {
+            firstPendingAt = System.currentTimeMillis();
+        }
+    }
+
+    static void usage() {
+        System.err.println("usage: java LiveIndexer indexDir dir");
+        System.exit(-1);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length != 2)
+            usage();
+
+        Directory directory = FSDirectory.open(Paths.get(args[0]));
+        LiveIndexer indexer = new LiveIndexer(directory, new StandardAnalyzer(), 1000, 2000);
+        EventDispatcher dispatcher = new EventDispatcher(Runtime.getRuntime().availableProcessors(), 1024, indexer);
+        EventCoalescer coalescer = new EventCoalescer(dispatcher, 500, 100000);
+        WatchDir wd = new WatchDir(Paths.get(args[1]).toAbsolutePath(), true, coalescer);
+        wd.processEvents();
+        coalescer.close();
+        dispatcher.shutdown();
+        indexer.close();
+    }
+}
@@ -3,6 +3,7 @@ package com.rabbit.examples.lucene;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -10,8 +11,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.BinaryDocValuesField;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
@@ -23,13 +26,24 @@ import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
 
 public class LuceneFileSearch {
 
+    public static final String CONTENTS_FIELD = "contents";
+    public static final String PATH_FIELD = "path";
+    public static final String FILENAME_FIELD = "filename";
+    public static final String SIZE_FIELD = "size";
+    public static final String MTIME_FIELD = "mtime";
+    public static final String HASH_FIELD = "hash";
+
     private Directory indexDirectory;
     private StandardAnalyzer analyzer;
+    private volatile SearcherManager searcherManager;
 
     public LuceneFileSearch(Directory fsDirectory, StandardAnalyzer analyzer) {
         super();
@@ -43,31 +57,75 @@ public class LuceneFileSearch {
         File file = path.toFile();
         IndexWriterConfig indexWriterConfig = new IndexWriterConfig(analyzer);
         IndexWriter indexWriter = new IndexWriter(indexDirectory, indexWriterConfig);
-        Document document = new Document();
 
         FileReader fileReader = new FileReader(file);
-        document.add(new TextField("contents", fileReader));
-        document.add(new StringField("path", file.getPath(), Field.Store.YES));
-        document.add(new StringField("filename", file.getName(), Field.Store.YES));
-
-        indexWriter.addDocument(document);
+        indexWriter.addDocument(createDocument(path, fileReader, FileFingerprint.of(path)));
 
         indexWriter.close();
     }
 
+    /**
+     * Builds the document for a file. The contents are tokenized from the given reader, which
+     * is consumed when the document is added to an {@link IndexWriter}. The fingerprint, if
+     * given, is kept in doc values so a later re-index can tell whether the file changed.
+     */
+    public static Document createDocument(Path file, Reader contents, FileFingerprint fingerprint) {
+        Document document = new Document();
+        document.add(new TextField(CONTENTS_FIELD, contents));
+        document.add(new StringField(PATH_FIELD, file.toString(), Field.Store.YES));
+        document.add(new BinaryDocValuesField(PATH_FIELD, new BytesRef(file.toString())));
+        document.add(new StringField(FILENAME_FIELD, file.getFileName().toString(), Field.Store.YES));
+        if (fingerprint != null) {
+            document.add(new NumericDocValuesField(SIZE_FIELD, fingerprint.getSize()));
+            document.add(new NumericDocValuesField(MTIME_FIELD, fingerprint.getLastModified()));
+            if (fingerprint.getHash() != null) {
+                document.add(new BinaryDocValuesField(HASH_FIELD, new BytesRef(fingerprint.getHash())));
+            }
+        }
+        return document;
+    }
+
+    /**
+     * Opens a long-lived searcher through the given factory, e.g. a {@link SearcherWarmer}, which
+     * runs before the searcher is published. Until this is called each search opens its own reader.
+     */
+    public void openSearcher(SearcherFactory searcherFactory) throws IOException {
+        searcherManager = new SearcherManager(indexDirectory, searcherFactory);
+    }
+
+    /**
+     * Picks up committed changes; the new searcher goes through the factory before it is used.
+     */
+    public void refreshSearcher() throws IOException {
+        if (searcherManager != null) {
+            searcherManager.maybeRefresh();
+        }
+    }
+
+    public void closeSearcher() throws IOException {
+        if (searcherManager != null) {
+            searcherManager.close();
+            searcherManager = null;
+        }
+    }
+
     public List<Document> searchFiles(String inField, String queryString) {
         try {
             Query query = new QueryParser(inField, analyzer).parse(queryString);
 
-            IndexReader indexReader = DirectoryReader.open(indexDirectory);
-            IndexSearcher searcher = new IndexSearcher(indexReader);
-            TopDocs topDocs = searcher.search(query, 10);
-            List<Document> documents = new ArrayList<>();
-            for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
-                documents.add(searcher.doc(scoreDoc.doc));
+            SearcherManager manager = searcherManager;
+            if (manager != null) {
+                IndexSearcher searcher = manager.acquire();
+                try {
+                    return search(searcher, query);
+                } finally {
+                    manager.release(searcher);
+                }
             }
 
-            return documents;
+            IndexReader indexReader = DirectoryReader.open(indexDirectory);
+            IndexSearcher searcher = new IndexSearcher(indexReader);
+            return search(searcher, query);
         } catch (IOException | ParseException e) {
             e.printStackTrace();
         }
@@ -75,6 +133,15 @@ public class LuceneFileSearch {
 
     }
 
+    private static List<Document> search(IndexSearcher searcher, Query query) throws IOException {
+        TopDocs topDocs = searcher.search(query, 10);
+        List<Document> documents = new ArrayList<>();
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+            documents.add(searcher.doc(scoreDoc.doc));
+        }
+        return documents;
+    }
+
 }
 
 
@@ -0,0 +1,367 @@
+package com.rabbit.examples.lucene;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.store.Directory;
+
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+
+/**
+ * Benchmark harness for {@link LuceneFileSearch}. Generates a synthetic corpus from the
+ * vocabulary of {@code data/file1.txt}, indexes it with {@link TreeIndexer} and replays a
+ * query mix at fixed concurrency levels. Reports indexing docs/sec, query QPS and latency
+ * percentiles on STDOUT and as JSON so runs can be diffed. Queries that fail are counted as
+ * errors, not timed as results, and make the run exit with 1.
+ */
+@Command(name = "search-benchmark", mixinStandardHelpOptions = true,
+        description = "Measures indexing and query performance of LuceneFileSearch on a synthetic corpus.")
+public class SearchBenchmark implements Callable<Integer> {
+
+    private static final String VOCABULARY_RESOURCE = "data/file1.txt";
+
+    @Option(names = "--docs", description = "Number of documents in the corpus (default: ${DEFAULT-VALUE}).")
+    private int docs = 10000;
+
+    @Option(names = "--words", description = "Words per document (default: ${DEFAULT-VALUE}).")
+    private int wordsPerDoc = 200;
+
+    @Option(names = "--concurrency", split = ",", description = "Searcher thread counts to replay the query mix at (default: 1,2,4,8).")
+    private int[] concurrency = {1, 2, 4, 8};
+
+    @Option(names = "--queries", description = "Queries per thread and concurrency level (default: ${DEFAULT-VALUE}).")
+    private int queriesPerThread = 2000;
+
+    @Option(names = "--warmup", description = "Unmeasured queries per thread before each level (default: ${DEFAULT-VALUE}).")
+    private int warmupPerThread = 200;
+
+    @Option(names = "--storage", description = "MMAP, NIOFS or HEAP (default: ${DEFAULT-VALUE}).")
+    private IndexStorage storage = IndexStorage.MMAP;
+
+    @Option(names = "--seed", description = "Random seed for corpus and queries (default: ${DEFAULT-VALUE}).")
+    private long seed = 42;
+
+    @Option(names = "--work-dir", description = "Where corpus and index are created (default: a temporary directory).")
+    private File workDir;
+
+    @Option(names = {"-o", "--output"}, description = "JSON results file (default: ${DEFAULT-VALUE}).")
+    private File output = new File("target/bench/lucene-search.json");
+
+    public static void main(String... args) {
+        System.exit(new CommandLine(new SearchBenchmark()).execute(args));
+    }
+
+    @Override
+    public Integer call() throws Exception {
+        Path work = workDir != null ? workDir.toPath() : Files.createTempDirectory("search-benchmark");
+        try {
+            return run(work);
+        } finally {
+            if (workDir == null) {
+                deleteRecursively(work);
+            }
+        }
+    }
+
+    private int run(Path work) throws Exception {
+        Path corpus = work.resolve("corpus");
+        Path indexPath = work.resolve("index");
+        // start from scratch so a reused work directory indexes every document again
+        deleteRecursively(corpus);
+        deleteRecursively(indexPath);
+        Random random = new Random(seed);
+        String[] vocabulary = loadVocabulary();
+
+        long started = System.nanoTime();
+        generateCorpus(corpus, vocabulary, random);
+        long generateNanos = System.nanoTime() - started;
+        System.out.format("Generated %d documents in %d ms\n", docs, generateNanos / 1000000);
+
+        TreeIndexer.Stats indexStats;
+        try (Directory directory = IndexStorage.NIOFS.open(indexPath)) {
+            indexStats = new TreeIndexer(directory, new StandardAnalyzer(), "MD5").index(corpus);
+        }
+        double docsPerSec = indexStats.getAdded() * 1e9 / indexStats.getElapsedNanos();
+        System.out.format("Indexed %d documents in %d ms (%.0f docs/sec)\n", indexStats.getAdded(),
+                indexStats.getElapsedNanos() / 1000000, docsPerSec);
+
+        String[] queries = queryMix(vocabulary, random);
+        List<LevelResult> levels = new ArrayList<>();
+        try (Directory directory = storage.open(indexPath)) {
+            LuceneFileSearch search = new LuceneFileSearch(directory, new StandardAnalyzer());
+            search.openSearcher(new SearcherFactory());
+            try {
+                for (int threads : concurrency) {
+                    LevelResult level = replay(search, queries, threads);
+                    System.out.println(level);
+                    levels.add(level);
+                }
+            } finally {
+                search.closeSearcher();
+            }
+        }
+
+        writeJson(indexStats, docsPerSec, levels);
+        System.out.format("Results written to %s\n", output);
+        long errors = 0;
+        for (LevelResult level : levels) {
+            errors += level.errors;
+        }
+        if (errors > 0) {
+            System.err.format("%d queries failed, the results are not valid\n", errors);
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Reads the vocabulary as a stream, so it loads from a jar or a native image as well as
+     * from a classes directory.
+     */
+    private String[] loadVocabulary() throws IOException {
+        InputStream in = getClass().getClassLoader().getResourceAsStream(VOCABULARY_RESOURCE);
+        if (in == null) {
+            throw new FileNotFoundException(VOCABULARY_RESOURCE + " is not on the classpath");
+        }
+        Set<String> words = new LinkedHashSet<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null;) {
+                for (String word : line.toLowerCase(Locale.ROOT).split("[^\\p{L}]+")) {
+                    if (word.length() > 1) {
+                        words.add(word);
+                    }
+                }
+            }
+        }
+        return words.toArray(new String[0]);
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        Files.walkFileTree(path, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null) {
+                    throw e;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Writes documents shaped like the sample file: sentences of vocabulary words with a skewed
+     * frequency distribution, so some terms are common and others rare, as in real text.
+     */
+    private void generateCorpus(Path corpus, String[] vocabulary, Random random) throws IOException {
+        StringBuilder text = new StringBuilder(wordsPerDoc * 8);
+        for (int doc = 0; doc < docs; doc++) {
+            Path dir = corpus.resolve(String.format("%03d", doc % 1000));
+            Files.createDirectories(dir);
+            text.setLength(0);
+            for (int word = 0; word < wordsPerDoc; word++) {
+                text.append(vocabulary[skewed(random, vocabulary.length)]);
+                text.append(word % 12 == 11 ? ". " : " ");
+            }
+            Files.write(dir.resolve("doc" + doc + ".txt"), text.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static int skewed(Random random, int bound) {
+        double r = random.nextDouble();
+        return (int) (bound * r * r * r);
+    }
+
+    /**
+     * Single common and rare terms, boolean combinations, phrases and prefixes, shuffled.
+     */
+    private String[] queryMix(String[] vocabulary, Random random) {
+        String[] queries = new String[1000];
+        for (int i = 0; i < queries.length; i++) {
+            String a = vocabulary[skewed(random, vocabulary.length)];
+            String b = vocabulary[random.nextInt(vocabulary.length)];
+            switch (i % 5) {
+            case 0:
+                queries[i] = a;
+                break;
+            case 1:
+                queries[i] = b;
+                break;
+            case 2:
+                queries[i] = a + " OR " + b;
+                break;
+            case 3:
+                queries[i] = "\"" + a + " " + b + "\"";
+                break;
+            default:
+                queries[i] = a.substring(0, Math.min(3, a.length())) + "*";
+            }
+        }
+        for (int i = queries.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            String tmp = queries[i];
+            queries[i] = queries[j];
+            queries[j] = tmp;
+        }
+        return queries;
+    }
+
+    private LevelResult replay(final LuceneFileSearch search, final String[] queries, final int threads)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch ready = new CountDownLatch(threads);
+            final CountDownLatch start = new CountDownLatch(1);
+            // searchFiles reports a failure by returning null
+            final AtomicLong errors = new AtomicLong();
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * 7919;
+                futures.add(executor.submit(new Callable<long[]>() {
+                    @Override
+                    public long[] call() throws Exception {
+                        try {
+                            for (int i = 0; i < warmupPerThread; i++) {
+                                if (search.searchFiles(LuceneFileSearch.CONTENTS_FIELD,
+                                        queries[(offset + i) % queries.length]) == null) {
+                                    errors.incrementAndGet();
+                                }
+                            }
+                        } finally {
+                            ready.countDown();
+                        }
+                        start.await();
+                        long[] latencies = new long[queriesPerThread];
+                        int succeeded = 0;
+                        for (int i = 0; i < queriesPerThread; i++) {
+                            String query = queries[(offset + warmupPerThread + i) % queries.length];
+                            long begin = System.nanoTime();
+                            if (search.searchFiles(LuceneFileSearch.CONTENTS_FIELD, query) == null) {
+                                errors.incrementAndGet();
+                            } else {
+                                latencies[succeeded++] = System.nanoTime() - begin;
+                            }
+                        }
+                        return Arrays.copyOf(latencies, succeeded);
+                    }
+                }));
+            }
+
+            ready.await();
+            long begin = System.nanoTime();
+            start.countDown();
+            long[] all = new long[threads * queriesPerThread];
+            int n = 0;
+            for (Future<long[]> future : futures) {
+                long[] latencies = future.get();
+                System.arraycopy(latencies, 0, all, n, latencies.length);
+                n += latencies.length;
+            }
+            long elapsed = System.nanoTime() - begin;
+
+            all = Arrays.copyOf(all, n);
+            Arrays.sort(all);
+            return new LevelResult(threads, n, errors.get(), n * 1e9 / elapsed,
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private void writeJson(TreeIndexer.Stats indexStats, double docsPerSec, List<LevelResult> levels)
+            throws IOException {
+        Path out = output.toPath().toAbsolutePath();
+        Files.createDirectories(out.getParent());
+        try (Writer w = new BufferedWriter(Files.newBufferedWriter(out, StandardCharsets.UTF_8))) {
+            w.write("{\n");
+            w.write(String.format(Locale.ROOT, "\t\"timestamp\": %d,%n", System.currentTimeMillis()));
+            w.write(String.format(Locale.ROOT, "\t\"docs\": %d,%n\t\"wordsPerDoc\": %d,%n\t\"storage\": \"%s\",%n\t\"seed\": %d,%n",
+                    docs, wordsPerDoc, storage, seed));
+            w.write(String.format(Locale.ROOT, "\t\"indexing\": {\"docs\": %d, \"millis\": %d, \"docsPerSec\": %.1f},%n",
+                    indexStats.getAdded(), indexStats.getElapsedNanos() / 1000000, docsPerSec));
+            w.write("\t\"search\": [\n");
+            for (int i = 0; i < levels.size(); i++) {
+                w.write("\t\t" + levels.get(i).toJson() + (i + 1 < levels.size() ? ",\n" : "\n"));
+            }
+            w.write("\t]\n}\n");
+        }
+    }
+
+    static class LevelResult {
+        final int threads;
+        final int queries;
+        final long errors;
+        final double qps;
+        final long p50;
+        final long p99;
+        final long p999;
+
+        LevelResult(int threads, int queries, long errors, double qps, long p50, long p99, long p999) {
+            this.threads = threads;
+            this.queries = queries;
+            this.errors = errors;
+            this.qps = qps;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"threads\": %d, \"queries\": %d, \"errors\": %d, \"qps\": %.1f, \"p50Micros\": %.1f, \"p99Micros\": %.1f, \"p999Micros\": %.1f}",
+                    threads, queries, errors, qps, p50 / 1e3, p99 / 1e3, p999 / 1e3);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("threads=%d: %.0f QPS, p50=%.1f us, p99=%.1f us, p999=%.1f us, %d errors",
+                    threads, qps, p50 / 1e3, p99 / 1e3, p999 / 1e3, errors);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.rabbit.examples.lucene;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.IndexInput;
+
+/**
+ * Warms every new searcher before a {@link org.apache.lucene.search.SearcherManager} publishes
+ * it: optionally reads all index files once so they sit in the page cache, then replays a list
+ * of recorded queries so the first real ones do not pay for cold postings and lazy structures.
+ */
+public class SearcherWarmer extends SearcherFactory {
+
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+
+    private final Analyzer analyzer;
+    private final boolean preloadFiles;
+    private final List<String> queries;
+
+    private volatile long lastWarmNanos;
+    private volatile long lastPreloadedBytes;
+
+    public SearcherWarmer(Analyzer analyzer, boolean preloadFiles, List<String> queries) {
+        this.analyzer = analyzer;
+        this.preloadFiles = preloadFiles;
+        this.queries = Collections.unmodifiableList(new ArrayList<>(queries));
+    }
+
+    /**
+     * Reads recorded queries, one per line. A line may name its field as {@code field<TAB>query},
+     * otherwise the {@code contents} field is searched. Blank lines and '#' comments are skipped.
+     */
+    public static List<String> readQueries(Path file) throws IOException {
+        List<String> queries = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            line = line.trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                queries.add(line);
+            }
+        }
+        return queries;
+    }
+
+    @Override
+    public IndexSearcher newSearcher(IndexReader reader, IndexReader previousReader) throws IOException {
+        long started = System.nanoTime();
+        IndexSearcher searcher = new IndexSearcher(reader);
+
+        long preloaded = 0;
+        if (preloadFiles && reader instanceof DirectoryReader) {
+            preloaded = preload(((DirectoryReader) reader).directory());
+        }
+        for (String line : queries) {
+            int tab = line.indexOf('\t');
+            String field = tab == -1 ? LuceneFileSearch.CONTENTS_FIELD : line.substring(0, tab);
+            try {
+                searcher.search(new QueryParser(field, analyzer).parse(line.substring(tab + 1)), 10);
+            } catch (ParseException e) {
+                System.err.format("Skipping warm-up query %s: %s\n", line, e.getMessage());
+            }
+        }
+
+        lastPreloadedBytes = preloaded;
+        lastWarmNanos = System.nanoTime() - started;
+        System.out.format("Warmed searcher in %d ms (%d bytes preloaded, %d queries replayed)\n",
+                lastWarmNanos / 1000000, preloaded, queries.size());
+        return searcher;
+    }
+
+    /**
+     * Reads every file of the directory sequentially, discarding the data.
+     */
+    private static long preload(Directory directory) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER_SIZE];
+        long total = 0;
+        for (String name : directory.listAll()) {
+            if (name.endsWith(".lock")) {
+                continue;
+            }
+            try (IndexInput input = directory.openInput(name, IOContext.READONCE)) {
+                long remaining = input.length();
+                while (remaining > 0) {
+                    int chunk = (int) Math.min(buffer.length, remaining);
+                    input.readBytes(buffer, 0, chunk);
+                    remaining -= chunk;
+                }
+                total += input.length();
+            } catch (NoSuchFileException e) {
+                // deleted by a concurrent merge, nothing to warm
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return how long warming the most recent searcher took, in nanoseconds.
+     */
+    public long getLastWarmNanos() {
+        return lastWarmNanos;
+    }
+
+    public long getLastPreloadedBytes() {
+        return lastPreloadedBytes;
+    }
+}
@@ -0,0 +1,302 @@
+package com.rabbit.examples.lucene;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.index.BinaryDocValues;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NumericDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+
+import com.rabbit.examples.CheckSum;
+
+/**
+ * Bulk (re-)indexes a directory tree. Each document carries a {@link FileFingerprint}; files
+ * whose size and modification time still match are skipped without being opened, files that
+ * only had their timestamp touched are recognised by their content hash and merely get the new
+ * timestamp, and documents whose file has vanished are deleted. A re-index of a mostly static
+ * tree therefore costs little more than one {@code stat} per file.
+ * <p>
+ * A file that vanishes during the walk is deleted from the index; one that cannot be read, or
+ * a directory that cannot be listed, is counted as failed and its documents are kept as they
+ * were. Neither stops the rest of the walk.
+ */
+public class TreeIndexer {
+
+    private final Directory indexDirectory;
+    private final Analyzer analyzer;
+    private final String algorithm;
+
+    public TreeIndexer(Directory indexDirectory, Analyzer analyzer, String algorithm) {
+        this.indexDirectory = indexDirectory;
+        this.analyzer = analyzer;
+        this.algorithm = algorithm;
+    }
+
+    /**
+     * Brings the index in line with the tree below {@code root}. Documents for paths outside
+     * the tree are left alone.
+     */
+    public Stats index(Path root) throws IOException {
+        final Path start = root.toAbsolutePath();
+        final Map<String, FileFingerprint> known = loadFingerprints(start);
+        final Stats stats = new Stats();
+        // paths that could not be read; the documents below them are kept, not taken as vanished
+        final Set<Path> failed = new HashSet<>();
+        long started = System.nanoTime();
+
+        try (final IndexWriter indexWriter = new IndexWriter(indexDirectory, new IndexWriterConfig(analyzer))) {
+            walk(start, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (attrs.isRegularFile()) {
+                        FileFingerprint previous = known.remove(file.toString());
+                        try {
+                            indexFile(indexWriter, file, FileFingerprint.of(attrs), previous, stats);
+                        } catch (NoSuchFileException e) {
+                            // removed between listing and reading it
+                            if (previous != null) {
+                                indexWriter.deleteDocuments(new Term(LuceneFileSearch.PATH_FIELD, file.toString()));
+                                stats.deleted++;
+                            }
+                        } catch (IOException e) {
+                            failed(file, e);
+                        }
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                    if (!(exc instanceof NoSuchFileException)) {
+                        failed(file, exc);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException exc) {
+                    // the listing broke off part way, whatever was not reached may still be there
+                    if (exc != null) {
+                        failed(dir, exc);
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+
+                private void failed(Path path, IOException exc) {
+                    System.err.format("Skipping %s: %s\n", path, exc);
+                    failed.add(path);
+                    stats.failed++;
+                }
+            });
+
+            for (String vanished : known.keySet()) {
+                if (isBelow(Paths.get(vanished), failed)) {
+                    continue;
+                }
+                indexWriter.deleteDocuments(new Term(LuceneFileSearch.PATH_FIELD, vanished));
+                stats.deleted++;
+            }
+            indexWriter.commit();
+        }
+        stats.elapsedNanos = System.nanoTime() - started;
+        return stats;
+    }
+
+    private void indexFile(IndexWriter indexWriter, Path file, FileFingerprint current,
+            FileFingerprint previous, Stats stats) throws IOException {
+        if (previous != null && previous.sameStat(current)) {
+            stats.unchanged++;
+            return;
+        }
+
+        Term key = new Term(LuceneFileSearch.PATH_FIELD, file.toString());
+        current = current.withHash(hash(file));
+        if (previous != null && previous.sameContent(current)) {
+            // Touched but not edited, only the timestamp in the fingerprint needs refreshing.
+            indexWriter.updateNumericDocValue(key, LuceneFileSearch.MTIME_FIELD, current.getLastModified());
+            stats.touched++;
+            return;
+        }
+
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            indexWriter.updateDocument(key, LuceneFileSearch.createDocument(file, reader, current));
+        }
+        if (previous == null) {
+            stats.added++;
+        } else {
+            stats.reindexed++;
+        }
+    }
+
+    /**
+     * Walks the tree; tests substitute failures here that cannot be provoked for real.
+     */
+    void walk(Path start, FileVisitor<Path> visitor) throws IOException {
+        Files.walkFileTree(start, visitor);
+    }
+
+    private static boolean isBelow(Path path, Set<Path> roots) {
+        if (roots.isEmpty()) {
+            return false;
+        }
+        for (Path p = path; p != null; p = p.getParent()) {
+            if (roots.contains(p)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    byte[] hash(Path file) throws IOException {
+        try {
+            return CheckSum.digest(file, algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unknown digest algorithm: " + algorithm, e);
+        }
+    }
+
+    /**
+     * Reads the fingerprints of all live documents below {@code root} straight from doc values,
+     * without touching stored fields.
+     */
+    private Map<String, FileFingerprint> loadFingerprints(Path root) throws IOException {
+        Map<String, FileFingerprint> fingerprints = new HashMap<>();
+        if (!DirectoryReader.indexExists(indexDirectory)) {
+            return fingerprints;
+        }
+
+        String rootPrefix = root.toString() + File.separator;
+        try (DirectoryReader reader = DirectoryReader.open(indexDirectory)) {
+            for (LeafReaderContext context : reader.leaves()) {
+                LeafReader leaf = context.reader();
+                Bits liveDocs = leaf.getLiveDocs();
+                BinaryDocValues paths = leaf.getBinaryDocValues(LuceneFileSearch.PATH_FIELD);
+                NumericDocValues sizes = leaf.getNumericDocValues(LuceneFileSearch.SIZE_FIELD);
+                NumericDocValues mtimes = leaf.getNumericDocValues(LuceneFileSearch.MTIME_FIELD);
+                BinaryDocValues hashes = leaf.getBinaryDocValues(LuceneFileSearch.HASH_FIELD);
+                if (paths == null) {
+                    continue;
+                }
+
+                for (int doc = paths.nextDoc(); doc != BinaryDocValues.NO_MORE_DOCS; doc = paths.nextDoc()) {
+                    if (liveDocs != null && !liveDocs.get(doc)) {
+                        continue;
+                    }
+                    String path = paths.binaryValue().utf8ToString();
+                    if (!path.startsWith(rootPrefix)) {
+                        continue;
+                    }
+
+                    // Documents without a fingerprint get an impossible one and are re-indexed.
+                    long size = sizes != null && sizes.advanceExact(doc) ? sizes.longValue() : -1;
+                    long mtime = mtimes != null && mtimes.advanceExact(doc) ? mtimes.longValue() : -1;
+                    byte[] hash = null;
+                    if (hashes != null && hashes.advanceExact(doc)) {
+                        hash = BytesRef.deepCopyOf(hashes.binaryValue()).bytes;
+                    }
+                    fingerprints.put(path, new FileFingerprint(size, mtime, hash));
+                }
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * What a single {@link TreeIndexer#index(Path)} run did.
+     */
+    public static class Stats {
+        long unchanged;
+        long touched;
+        long added;
+        long reindexed;
+        long deleted;
+        long failed;
+        long elapsedNanos;
+
+        public long getUnchanged() {
+            return unchanged;
+        }
+
+        public long getTouched() {
+            return touched;
+        }
+
+        public long getAdded() {
+            return added;
+        }
+
+        public long getReindexed() {
+            return reindexed;
+        }
+
+        public long getDeleted() {
+            return deleted;
+        }
+
+        /**
+         * @return files and directories that could not be read; their documents were kept
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("unchanged=%d, touched=%d, added=%d, reindexed=%d, deleted=%d, failed=%d in %d ms",
+                    unchanged, touched, added, reindexed, deleted, failed, elapsedNanos / 1000000);
+        }
+    }
+
+    static void usage() {
+        System.err.println("usage: java TreeIndexer [-a algorithm] indexDir dir");
+        System.exit(-1);
+    }
+
+    public static void main(String[] args) throws IOException {
+        String algorithm = "MD5";
+        int argIx = 0;
+        if (args.length > 0 && args[0].equals("-a")) {
+            if (args.length < 2)
+                usage();
+            algorithm = args[1];
+            argIx += 2;
+        }
+        if (args.length - argIx != 2)
+            usage();
+
+        Directory directory = FSDirectory.open(Paths.get(args[argIx]));
+        TreeIndexer indexer = new TreeIndexer(directory, new StandardAnalyzer(), algorithm);
+        System.out.println(indexer.index(Paths.get(args[argIx + 1])));
+    }
+}
@@ -0,0 +1,85 @@
+package com.rabbit.examples.uri;
+
+/**
+ * The outcome of {@link UriRouter#route}: the handler and template that matched and where each
+ * parameter lies in the path. Offsets are into the path as given; {@link #getParameter} cuts
+ * out a String only when asked. A match may be reused for the next lookup on the same router,
+ * so it is not thread-safe.
+ *
+ * @param <H> the handler type
+ */
+public final class RouteMatch<H> {
+
+    final int[] offsets;
+    UriRouter.Route<H> route;
+    CharSequence path;
+
+    RouteMatch(int[] offsets) {
+        this.offsets = offsets;
+    }
+
+    public H getHandler() {
+        return route.handler;
+    }
+
+    public String getTemplate() {
+        return route.template;
+    }
+
+    public CharSequence getPath() {
+        return path;
+    }
+
+    public int getParameterCount() {
+        return route.names.length;
+    }
+
+    /**
+     * @return the name in the template, {@code *} for an unnamed tail
+     */
+    public String getParameterName(int index) {
+        return route.names[index];
+    }
+
+    public int getParameterStart(int index) {
+        checkIndex(index);
+        return offsets[2 * index];
+    }
+
+    public int getParameterEnd(int index) {
+        checkIndex(index);
+        return offsets[2 * index + 1];
+    }
+
+    public String getParameter(int index) {
+        return path.subSequence(getParameterStart(index), getParameterEnd(index)).toString();
+    }
+
+    /**
+     * @return the value of the named parameter, or null if the template has none by that name
+     */
+    public String getParameter(String name) {
+        for (int i = 0; i < route.names.length; i++) {
+            if (route.names[i].equals(name)) {
+                return getParameter(i);
+            }
+        }
+        return null;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= route.names.length) {
+            throw new IndexOutOfBoundsException("Parameter " + index + " of " + route.names.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(route.template).append(" {");
+        for (int i = 0; i < route.names.length; i++) {
+            sb.append(i == 0 ? "" : ", ").append(route.names[i]).append('=').append(path, offsets[2 * i],
+                    offsets[2 * i + 1]);
+        }
+        return sb.append('}').toString();
+    }
+}
@@ -0,0 +1,126 @@
+package com.rabbit.examples.uri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Decides whether a request URI starts with one of a fixed set of literal prefixes, the job
+ * a {@code ^(prefix1|prefix2|...).*$} regular expression would otherwise do. The prefixes are
+ * compiled into a character trie laid out as a flat ASCII transition table, so a check walks
+ * one table entry per character of the prefix and gives up at the first character no prefix
+ * continues with. Nothing is allocated per check.
+ * <p>
+ * Past a matching prefix the rest of the URI is only checked for line terminators, which
+ * {@code .*} would not match; that keeps results identical to the regular expression.
+ */
+public final class UriClassifier {
+
+    private static final int ALPHABET = 128;
+    private static final int NONE = -1;
+
+    // next[state * ALPHABET + c] is the state after reading c, or NONE
+    private final int[] next;
+    private final boolean[] accepting;
+    private final List<String> prefixes;
+
+    private UriClassifier(int[] next, boolean[] accepting, List<String> prefixes) {
+        this.next = next;
+        this.accepting = accepting;
+        this.prefixes = prefixes;
+    }
+
+    /**
+     * Compiles the prefixes, which must be ASCII.
+     */
+    public static UriClassifier of(Iterable<String> prefixes) {
+        List<String> copy = new ArrayList<>();
+        int[] next = new int[ALPHABET];
+        Arrays.fill(next, NONE);
+        boolean[] accepting = new boolean[1];
+        int states = 1;
+        for (String prefix : prefixes) {
+            copy.add(prefix);
+            int state = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                char c = prefix.charAt(i);
+                if (c >= ALPHABET) {
+                    throw new IllegalArgumentException("Not an ASCII prefix: " + prefix);
+                }
+                int slot = state * ALPHABET + c;
+                if (next[slot] == NONE) {
+                    if (states * ALPHABET == next.length) {
+                        next = Arrays.copyOf(next, next.length * 2);
+                        Arrays.fill(next, states * ALPHABET, next.length, NONE);
+                        accepting = Arrays.copyOf(accepting, accepting.length * 2);
+                    }
+                    next[slot] = states++;
+                }
+                state = next[slot];
+            }
+            accepting[state] = true;
+        }
+        return new UriClassifier(Arrays.copyOf(next, states * ALPHABET), Arrays.copyOf(accepting, states),
+                Collections.unmodifiableList(copy));
+    }
+
+    /**
+     * Compiles {@code ^(optionalPrefix)?(/)?(root1|root2|...)}: every root, optionally preceded
+     * by a slash, by the optional prefix, or by both.
+     */
+    public static UriClassifier forRoots(String optionalPrefix, String... roots) {
+        List<String> prefixes = new ArrayList<>(roots.length * 4);
+        for (String root : roots) {
+            prefixes.add(optionalPrefix + "/" + root);
+            prefixes.add(optionalPrefix + root);
+            prefixes.add("/" + root);
+            prefixes.add(root);
+        }
+        return of(prefixes);
+    }
+
+    /**
+     * @return true if the URI starts with one of the prefixes and has no line terminator
+     */
+    public boolean matches(CharSequence uri) {
+        if (accepting[0]) {
+            return !hasLineTerminator(uri, 0);
+        }
+        int state = 0;
+        for (int i = 0; i < uri.length(); i++) {
+            char c = uri.charAt(i);
+            if (c >= ALPHABET || (state = next[state * ALPHABET + c]) == NONE) {
+                return false;
+            }
+            if (accepting[state]) {
+                return !hasLineTerminator(uri, i + 1);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the prefixes in the order they were compiled
+     */
+    public List<String> getPrefixes() {
+        return prefixes;
+    }
+
+    /**
+     * @return the number of trie nodes
+     */
+    public int getStateCount() {
+        return accepting.length;
+    }
+
+    private static boolean hasLineTerminator(CharSequence s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,315 @@
+package com.rabbit.examples.uri;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves request paths to handlers through a trie of path segments. Templates are made of
+ * {@code /}-separated segments, each of which is a literal, a {@code {name}} parameter that
+ * matches any one non-empty segment, or, as the last segment only, a {@code {name*}} or
+ * {@code *} tail that matches the rest of the path, possibly nothing.
+ * <p>
+ * A lookup walks the path in place, one segment per trie level: literal segments are found by
+ * a hash of the characters, computed as it goes, in an open-addressed table per node. Nothing
+ * is split or copied; parameters come back as offsets into the path in a {@link RouteMatch}
+ * that can be reused. Literals win over parameters and parameters over tails; if the more
+ * specific branch fails further down, the next one is tried. The query string and a trailing
+ * slash are ignored. A router is immutable and safe to share.
+ * <p>
+ * A lookup enters each trie node at most once and scans one path segment there, so it is a
+ * single pass over the path when no parameter or tail has to be tried after a failed literal.
+ * Each fallback scans the rest of the path again from its own level. The worst case is
+ * therefore bounded by the number of trie nodes the path can reach, times the segment lengths,
+ * not by the path length alone.
+ *
+ * @param <H> the handler type
+ */
+public final class UriRouter<H> {
+
+    private static final String TAIL = "*";
+
+    private final Node<H> root;
+    private final int maxParameters;
+    private final int size;
+
+    private UriRouter(Node<H> root, int maxParameters, int size) {
+        this.root = root;
+        this.maxParameters = maxParameters;
+        this.size = size;
+    }
+
+    public static <H> Builder<H> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * @return the match, or null if no template matches the path
+     */
+    public RouteMatch<H> route(CharSequence path) {
+        RouteMatch<H> match = newMatch();
+        return route(path, match) ? match : null;
+    }
+
+    /**
+     * Resolves the path into a match from {@link #newMatch()}, without allocating.
+     *
+     * @return false if no template matches the path, in which case the match is unchanged
+     */
+    public boolean route(CharSequence path, RouteMatch<H> into) {
+        if (into.offsets.length < 2 * maxParameters) {
+            throw new IllegalArgumentException("The match was not made by this router");
+        }
+        int end = pathEnd(path);
+        if (end == 0 || path.charAt(0) != '/') {
+            return false;
+        }
+        if (end > 1 && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        Route<H> route = match(root, path, 1, end, 0, into.offsets);
+        if (route == null) {
+            return false;
+        }
+        into.route = route;
+        into.path = path;
+        return true;
+    }
+
+    /**
+     * @return an empty match sized for this router's templates
+     */
+    public RouteMatch<H> newMatch() {
+        return new RouteMatch<>(new int[2 * maxParameters]);
+    }
+
+    /**
+     * @return the number of templates
+     */
+    public int size() {
+        return size;
+    }
+
+    private static <H> Route<H> match(Node<H> node, CharSequence path, int from, int end, int parameter,
+            int[] offsets) {
+        if (from >= end) {
+            if (node.route != null) {
+                return node.route;
+            }
+            if (node.tail != null) {
+                offsets[2 * parameter] = end;
+                offsets[2 * parameter + 1] = end;
+                return node.tail;
+            }
+            return null;
+        }
+        int segmentEnd = from;
+        int hash = 0;
+        for (char c; segmentEnd < end && (c = path.charAt(segmentEnd)) != '/'; segmentEnd++) {
+            hash = 31 * hash + c;
+        }
+        int next = segmentEnd + 1;
+
+        Node<H> literal = node.literal(path, from, segmentEnd, hash);
+        if (literal != null) {
+            Route<H> route = match(literal, path, next, end, parameter, offsets);
+            if (route != null) {
+                return route;
+            }
+        }
+        if (node.parameter != null && segmentEnd > from) {
+            Route<H> route = match(node.parameter, path, next, end, parameter + 1, offsets);
+            if (route != null) {
+                // set after the descent, which may have tried and abandoned other values
+                offsets[2 * parameter] = from;
+                offsets[2 * parameter + 1] = segmentEnd;
+                return route;
+            }
+        }
+        if (node.tail != null) {
+            offsets[2 * parameter] = from;
+            offsets[2 * parameter + 1] = end;
+            return node.tail;
+        }
+        return null;
+    }
+
+    private static int pathEnd(CharSequence path) {
+        for (int i = 0; i < path.length(); i++) {
+            char c = path.charAt(i);
+            if (c == '?' || c == '#') {
+                return i;
+            }
+        }
+        return path.length();
+    }
+
+    /**
+     * A template and its handler.
+     */
+    static final class Route<H> {
+        final String template;
+        final H handler;
+        final String[] names;
+
+        Route(String template, H handler, String[] names) {
+            this.template = template;
+            this.handler = handler;
+            this.names = names;
+        }
+    }
+
+    /**
+     * A trie level. Literal children live in a power-of-two open-addressed table keyed by the
+     * segment, hashed as {@link String#hashCode()} does.
+     */
+    private static final class Node<H> {
+        String[] keys;
+        Node<H>[] children;
+        Node<H> parameter;
+        Route<H> route;
+        Route<H> tail;
+
+        Node<H> literal(CharSequence path, int from, int to, int hash) {
+            if (keys == null) {
+                return null;
+            }
+            int mask = keys.length - 1;
+            for (int slot = spread(hash) & mask;; slot = (slot + 1) & mask) {
+                String key = keys[slot];
+                if (key == null) {
+                    return null;
+                }
+                if (key.length() == to - from && key.hashCode() == hash && regionEquals(key, path, from)) {
+                    return children[slot];
+                }
+            }
+        }
+
+        private static boolean regionEquals(String key, CharSequence path, int from) {
+            for (int i = 0; i < key.length(); i++) {
+                if (key.charAt(i) != path.charAt(from + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * Collects templates. Not thread-safe.
+     */
+    public static final class Builder<H> {
+
+        private final BuildNode<H> root = new BuildNode<>();
+        private int maxParameters;
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * @throws IllegalArgumentException if the template is malformed or another template
+         *                                  already matches exactly the same paths
+         */
+        public Builder<H> add(String template, H handler) {
+            if (!template.startsWith("/")) {
+                throw new IllegalArgumentException("Template must start with '/': " + template);
+            }
+            String trimmed = template.length() > 1 && template.endsWith("/")
+                    ? template.substring(0, template.length() - 1)
+                    : template;
+            List<String> names = new ArrayList<>();
+            BuildNode<H> node = root;
+            String[] segments = trimmed.length() == 1 ? new String[0] : trimmed.substring(1).split("/", -1);
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                boolean last = i == segments.length - 1;
+                if (segment.equals(TAIL) || segment.startsWith("{") && segment.endsWith("*}")) {
+                    if (!last) {
+                        throw new IllegalArgumentException("A tail must be the last segment: " + template);
+                    }
+                    names.add(segment.equals(TAIL) ? TAIL : name(segment.substring(1, segment.length() - 2), template));
+                    if (node.tail != null) {
+                        throw duplicate(template, node.tail);
+                    }
+                    node.tail = new Route<>(template, handler, names.toArray(new String[0]));
+                    return added(names);
+                }
+                if (segment.startsWith("{") && segment.endsWith("}")) {
+                    names.add(name(segment.substring(1, segment.length() - 1), template));
+                    if (node.parameter == null) {
+                        node.parameter = new BuildNode<>();
+                    }
+                    node = node.parameter;
+                } else if (segment.indexOf('{') >= 0 || segment.indexOf('}') >= 0) {
+                    throw new IllegalArgumentException("Parameters must be whole segments: " + template);
+                } else {
+                    node = node.literals.computeIfAbsent(segment, s -> new BuildNode<>());
+                }
+            }
+            if (node.route != null) {
+                throw duplicate(template, node.route);
+            }
+            node.route = new Route<>(template, handler, names.toArray(new String[0]));
+            return added(names);
+        }
+
+        public UriRouter<H> build() {
+            return new UriRouter<>(root.freeze(), maxParameters, size);
+        }
+
+        private Builder<H> added(List<String> names) {
+            maxParameters = Math.max(maxParameters, names.size());
+            size++;
+            return this;
+        }
+
+        private static String name(String name, String template) {
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Parameter without a name: " + template);
+            }
+            return name;
+        }
+
+        private static IllegalArgumentException duplicate(String template, Route<?> existing) {
+            return new IllegalArgumentException(template + " matches the same paths as " + existing.template);
+        }
+    }
+
+    private static final class BuildNode<H> {
+        final Map<String, BuildNode<H>> literals = new HashMap<>();
+        BuildNode<H> parameter;
+        Route<H> route;
+        Route<H> tail;
+
+        @SuppressWarnings("unchecked")
+        Node<H> freeze() {
+            Node<H> node = new Node<>();
+            node.route = route;
+            node.tail = tail;
+            node.parameter = parameter == null ? null : parameter.freeze();
+            if (!literals.isEmpty()) {
+                // at most half full
+                int capacity = Integer.highestOneBit(literals.size() * 2 - 1) << 1;
+                node.keys = new String[capacity];
+                node.children = new Node[capacity];
+                for (Map.Entry<String, BuildNode<H>> entry : literals.entrySet()) {
+                    String key = entry.getKey();
+                    int slot = Node.spread(key.hashCode()) & (capacity - 1);
+                    while (node.keys[slot] != null) {
+                        slot = (slot + 1) & (capacity - 1);
+                    }
+                    node.keys[slot] = key;
+                    node.children[slot] = entry.getValue().freeze();
+                }
+            }
+            return node;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.rabbit.ml;
 
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.net.URISyntaxException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.stream.Stream;
 import org.jline.reader.LineReader;
 import org.jline.reader.impl.completer.StringsCompleter;
 import org.jline.reader.LineReaderBuilder;
@@ -16,26 +19,28 @@ import org.jline.terminal.TerminalBuilder;
 public class MLMain {
 	public static String read(String fileName) {
 
-		Path path;
 		StringBuilder data = new StringBuilder();
-		Stream<String> lines = null;
-		try {
-			if (System.getProperty("banner.properties.file") != null) {
-				path = Paths.get(System.getProperty("banner.properties.file"));
-			} else {
-				path = Paths.get(Thread.currentThread().getContextClassLoader().getResource(fileName).toURI());
-			}
-			lines = Files.lines(path);
-		} catch (URISyntaxException | IOException e) {
+		// a stream rather than a Path, so the banner also loads from a jar or a native image
+		try (BufferedReader lines = open(fileName)) {
+			lines.lines().forEach(line -> data.append(line).append(System.lineSeparator()));
+		} catch (IOException | UncheckedIOException e) {
 			throw new RuntimeException(e);
 		}
- 
-		lines.forEach(line -> data.append(line).append(System.lineSeparator()));
-		lines.close();
 		return data.toString();
 	}
 
-	public static void main(String[] args) throws IOException, URISyntaxException {
+	private static BufferedReader open(String fileName) throws IOException {
+		if (System.getProperty("banner.properties.file") != null) {
+			return Files.newBufferedReader(Paths.get(System.getProperty("banner.properties.file")));
+		}
+		InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(fileName);
+		if (in == null) {
+			throw new FileNotFoundException(fileName + " is not on the classpath");
+		}
+		return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+	}
+
+	public static void main(String[] args) throws IOException {
 		Terminal terminal = TerminalBuilder.terminal();
 
 		LineReader reader = LineReaderBuilder.builder().terminal(terminal)
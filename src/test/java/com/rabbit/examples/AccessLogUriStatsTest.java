@@ -0,0 +1,47 @@
+package com.rabbit.examples;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AccessLogUriStatsTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenAccessLogsWhenCountedInParallelThenAreasAndPrefixesTallied() throws Exception {
+		StringBuilder first = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			first.append("10.0.0.").append(i % 250).append(" - admin [10/Oct/2000:13:55:36 -0700] \"GET /mgmt/tm/sys/")
+					.append(i % 3 == 0 ? "ucs" : "service?expand=true").append(" HTTP/1.1\" 200 2326\n");
+		}
+		first.append("10.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"POST /mgmt/shared/echo HTTP/1.1\" 200 2\r\n");
+		first.append("10.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"-\" 400 0\n");
+		String second = "\"GET /mgmt/cm/device/tasks HTTP/1.1\"\n"
+				+ "/mgmt/tm\n"
+				+ "\"GET /favicon.ico HTTP/1.1\"\n"
+				+ "/tm/ltm/pool";
+		Path one = dir.resolve("one.log");
+		Path two = dir.resolve("two.log");
+		Files.write(one, first.toString().getBytes(StandardCharsets.US_ASCII));
+		Files.write(two, second.getBytes(StandardCharsets.US_ASCII));
+
+		AccessLogUriStats.Counters counters = AccessLogUriStats.count(Arrays.asList(one, two), 3, 500, 3);
+		Assertions.assertEquals(306, counters.lines);
+		Assertions.assertEquals(Files.size(one) + Files.size(two), counters.bytes);
+		Assertions.assertEquals(1, counters.unparsed);
+		Assertions.assertEquals(302, counters.areas[AccessLogUriStats.Area.TM.ordinal()]);
+		Assertions.assertEquals(1, counters.areas[AccessLogUriStats.Area.CM.ordinal()]);
+		Assertions.assertEquals(1, counters.areas[AccessLogUriStats.Area.SHARED.ordinal()]);
+		Assertions.assertEquals(1, counters.areas[AccessLogUriStats.Area.OTHER.ordinal()]);
+		Assertions.assertEquals(303, counters.icrd);
+		Assertions.assertEquals("[/mgmt/tm/sys=300, /favicon.ico=1, /mgmt/cm/device=1]", counters.top(3).toString());
+		Assertions.assertEquals(6, counters.getPrefixCount());
+	}
+}
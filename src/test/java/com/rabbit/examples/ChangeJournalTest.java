@@ -0,0 +1,156 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChangeJournalTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenCommittedOffsetWhenReopenedThenOnlyUncommittedEventsReplayed() throws Exception {
+		StringBuilder longName = new StringBuilder();
+		for (int i = 0; i < 60; i++) {
+			longName.append("segment").append(i).append('/');
+		}
+		try (ChangeJournal journal = new ChangeJournal(dir, 128, 5)) {
+			for (int i = 0; i < 300; i++) {
+				journal.publish(new Event(Paths.get("file" + i), i % 2 == 0 ? ENTRY_CREATE : ENTRY_MODIFY));
+			}
+			journal.publish(new Event(Paths.get(longName.toString(), "deep.txt"), ENTRY_DELETE));
+			journal.sync();
+
+			final List<Event> handled = new ArrayList<>();
+			IOException failure = Assertions.assertThrows(IOException.class, () -> journal.replay("indexer", event -> {
+				handled.add(event);
+				if (handled.size() == 100) {
+					throw new IOException("consumer crashed");
+				}
+			}));
+			Assertions.assertEquals("consumer crashed", failure.getMessage());
+		}
+
+		try (ChangeJournal journal = new ChangeJournal(dir, 128, 5)) {
+			final List<Event> replayed = new ArrayList<>();
+			int count = journal.replay("indexer", new EventHandler() {
+				@Override
+				public void handle(Event event) {
+					replayed.add(event);
+				}
+			});
+
+			// the failed event was not committed and comes back first
+			Assertions.assertEquals(202, count);
+			Assertions.assertEquals(Paths.get("file99"), replayed.get(0).getPath());
+			Assertions.assertEquals(ENTRY_MODIFY, replayed.get(0).getKind());
+			Assertions.assertEquals(Paths.get(longName.toString(), "deep.txt"), replayed.get(201).getPath());
+			Assertions.assertEquals(ENTRY_DELETE, replayed.get(201).getKind());
+			Assertions.assertEquals(0, journal.replay("indexer", event -> Assertions.fail("already committed")));
+			Assertions.assertTrue(countSegments() > 1);
+		}
+	}
+
+	@Test
+	public void givenTornTailWhenReopenedThenTailDiscardedAndAppendsContinue() throws Exception {
+		try (ChangeJournal journal = new ChangeJournal(dir, 128, 0)) {
+			journal.publish(new Event(Paths.get("a.txt"), ENTRY_CREATE));
+			journal.publish(new Event(Paths.get("b.txt"), ENTRY_CREATE));
+		}
+		// a record whose length made it to disk but whose path did not
+		try (RandomAccessFile file = new RandomAccessFile(dir.resolve(String.format("%020d.journal", 0)).toFile(), "rw")) {
+			file.seek(2 * ChangeJournal.SLOT_SIZE);
+			file.writeInt(5);
+		}
+
+		try (ChangeJournal journal = new ChangeJournal(dir, 128, 0)) {
+			journal.publish(new Event(Paths.get("c.txt"), ENTRY_MODIFY));
+			journal.sync();
+			List<Event> events = new ArrayList<>();
+			Assertions.assertEquals(3, journal.read(0, 10, events));
+			Assertions.assertEquals(3, events.size());
+			Assertions.assertEquals(Paths.get("c.txt"), events.get(2).getPath());
+		}
+	}
+
+	@Test
+	public void givenFollowerWhenJournalClosedThenEverythingDeliveredAndCommitted() throws Exception {
+		final List<Event> delivered = new ArrayList<>();
+		final EventDispatcher dispatcher = new EventDispatcher(2, 16, new EventHandler() {
+			@Override
+			public void handle(Event event) {
+				synchronized (delivered) {
+					delivered.add(event);
+				}
+			}
+		});
+		final ChangeJournal journal = new ChangeJournal(dir, 128, 1);
+		Thread follower = new Thread(() -> {
+			try {
+				journal.follow("dispatcher", dispatcher);
+			} catch (IOException | InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+		});
+		follower.start();
+		for (int i = 0; i < 1000; i++) {
+			journal.publish(new Event(Paths.get("file" + i), ENTRY_MODIFY));
+		}
+		journal.close();
+		follower.join();
+		dispatcher.shutdown();
+
+		Assertions.assertEquals(1000, delivered.size());
+		Assertions.assertEquals(journal.getDurableOffset(), journal.committedOffset("dispatcher"));
+		Assertions.assertTrue(journal.getForceCount() < 1000);
+	}
+
+	@Test
+	public void givenWriterDiedWhenSyncedThenFailsAndPublishRejected() throws Exception {
+		ChangeJournal journal = new ChangeJournal(dir.resolve("broken"), 128, 1);
+		Assertions.assertThrows(IllegalArgumentException.class, () -> journal.publish(new Event(Paths.get("a"), OVERFLOW)));
+		// a path-less event kills the writer with a NullPointerException
+		journal.publish(new Event(null, ENTRY_CREATE));
+		journal.publish(new Event(Paths.get("b.txt"), ENTRY_CREATE));
+		IOException failed = Assertions.assertThrows(IOException.class, journal::sync);
+		Assertions.assertTrue(failed.getCause() instanceof NullPointerException);
+		Assertions.assertThrows(IllegalStateException.class, () -> journal.publish(new Event(Paths.get("c.txt"), ENTRY_CREATE)));
+
+		// a writer stopped by an interrupt leaves no failure behind, but nothing is durable either
+		ChangeJournal interrupted = new ChangeJournal(dir.resolve("interrupted"), 128, 60000);
+		interrupted.publish(new Event(Paths.get("d.txt"), ENTRY_CREATE));
+		for (Thread thread : Thread.getAllStackTraces().keySet()) {
+			if (thread.getName().equals("watch-journal")) {
+				thread.interrupt();
+				thread.join();
+			}
+		}
+		Assertions.assertThrows(IOException.class, interrupted::sync);
+		Assertions.assertThrows(IllegalStateException.class, () -> interrupted.publish(new Event(Paths.get("e.txt"), ENTRY_CREATE)));
+	}
+
+	private long countSegments() throws IOException {
+		long count = 0;
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.journal")) {
+			for (@SuppressWarnings("unused") Path file : stream) {
+				count++;
+			}
+		}
+		return count;
+	}
+}
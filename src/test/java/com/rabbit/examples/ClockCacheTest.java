@@ -0,0 +1,35 @@
+package com.rabbit.examples;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ClockCacheTest {
+
+	@Test
+	public void givenScanOfOneOffKeysWhenCacheFullThenHotEntrySurvives() {
+		ClockCache<String, String> cache = new ClockCache<>(4);
+		cache.put("hot", "HOT");
+		for (int i = 0; i < 100; i++) {
+			Assertions.assertEquals("HOT", cache.get("hot"));
+			String key = "cold" + i;
+			if (cache.get(key) == null) {
+				cache.put(key, key.toUpperCase());
+			}
+		}
+
+		Assertions.assertEquals(4, cache.size());
+		Assertions.assertEquals("HOT", cache.get("hot"));
+		Assertions.assertEquals(101, cache.getHitCount());
+		Assertions.assertEquals(100, cache.getMissCount());
+		Assertions.assertEquals(97, cache.getEvictionCount());
+	}
+
+	@Test
+	public void givenZeroCapacityWhenUsedThenNothingCached() {
+		ClockCache<String, String> cache = new ClockCache<>(0);
+		cache.put("a", "A");
+		Assertions.assertNull(cache.get("a"));
+		Assertions.assertEquals(0, cache.size());
+		Assertions.assertEquals(1, cache.getMissCount());
+	}
+}
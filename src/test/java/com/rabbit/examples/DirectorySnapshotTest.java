@@ -0,0 +1,181 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DirectorySnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenMissedChangesWhenRescannedThenSyntheticEventsReported() throws IOException {
+		for (int i = 0; i < 200; i++) {
+			Files.write(dir.resolve("file" + i), new byte[] { 1 });
+		}
+		DirectorySnapshot snapshot = new DirectorySnapshot(16);
+		snapshot.snapshot(dir);
+		Assertions.assertEquals(200, snapshot.size(dir));
+
+		for (int i = 0; i < 150; i++) {
+			Files.delete(dir.resolve("file" + i));
+		}
+		Files.write(dir.resolve("file199"), new byte[] { 1, 2, 3 });
+		Files.write(dir.resolve("added"), new byte[] { 1 });
+
+		List<Event> events = snapshot.rescan(dir);
+		Map<String, Object> kinds = new HashMap<>();
+		for (Event event : events) {
+			kinds.put(event.getPath().getFileName().toString(), event.getKind());
+		}
+		Assertions.assertEquals(152, events.size());
+		Assertions.assertEquals(ENTRY_DELETE, kinds.get("file0"));
+		Assertions.assertEquals(ENTRY_MODIFY, kinds.get("file199"));
+		Assertions.assertEquals(ENTRY_CREATE, kinds.get("added"));
+		Assertions.assertEquals(51, snapshot.size(dir));
+
+		Assertions.assertTrue(snapshot.rescan(dir).isEmpty());
+	}
+
+	@Test
+	public void givenEntriesUpdatedOneByOneWhenRescannedThenNothingReported() throws IOException {
+		DirectorySnapshot snapshot = new DirectorySnapshot(16);
+		snapshot.snapshot(dir);
+		for (int i = 0; i < 100; i++) {
+			Path file = Files.write(dir.resolve("file" + i), new byte[] { 1 });
+			snapshot.update(file);
+		}
+		for (int i = 0; i < 100; i += 2) {
+			Path file = dir.resolve("file" + i);
+			Files.delete(file);
+			snapshot.update(file);
+		}
+
+		Assertions.assertEquals(50, snapshot.size(dir));
+		Assertions.assertTrue(snapshot.rescan(dir).isEmpty());
+	}
+
+	@Test
+	public void givenTreeWhenForgottenThenOnlyItsSubtreeDropped() throws IOException {
+		DirectorySnapshot snapshot = new DirectorySnapshot(16);
+		Path[] dirs = { dir, dir.resolve("a"), dir.resolve("a/b"), dir.resolve("a/b/c"), dir.resolve("a/d"),
+				dir.resolve("ab"), dir.resolve("ab/x") };
+		for (Path d : dirs) {
+			Files.createDirectories(d);
+		}
+		for (Path d : dirs) {
+			snapshot.snapshot(d);
+		}
+
+		snapshot.forget(dir.resolve("a"));
+		for (String gone : new String[] { "a", "a/b", "a/b/c", "a/d" }) {
+			Assertions.assertEquals(-1, snapshot.size(dir.resolve(gone)), gone);
+		}
+		Assertions.assertEquals(2, snapshot.size(dir));
+		Assertions.assertEquals(1, snapshot.size(dir.resolve("ab")));
+		Assertions.assertEquals(0, snapshot.size(dir.resolve("ab/x")));
+	}
+
+	@Test
+	public void givenFileKeysWithEqualHashesWhenComparedThenStillDifferentFiles() {
+		DirectorySnapshot.Listing before = new DirectorySnapshot.Listing(4);
+		DirectorySnapshot.Listing after = new DirectorySnapshot.Listing(4);
+		// "Aa" and "BB" have the same String hash code
+		before.put("same", new Attributes("Aa"));
+		after.put("same", new Attributes("BB"));
+		before.put("kept", new Attributes("inode-7"));
+		after.put("kept", new Attributes("inode-7"));
+		before.put("nokeys", new Attributes(null));
+		after.put("nokeys", new Attributes(null));
+
+		Assertions.assertFalse(DirectorySnapshot.Listing.sameFile(before, before.find("same"), after, after.find("same")));
+		Assertions.assertTrue(DirectorySnapshot.Listing.sameFile(before, before.find("kept"), after, after.find("kept")));
+		Assertions.assertTrue(DirectorySnapshot.Listing.sameFile(before, before.find("nokeys"), after, after.find("nokeys")));
+	}
+
+	@Test
+	public void givenFileReplacedWhenRescannedThenDeleteAndCreateReported() throws IOException {
+		Path file = Files.write(dir.resolve("config"), new byte[] { 1 });
+		FileTime mtime = Files.getLastModifiedTime(file);
+		DirectorySnapshot snapshot = new DirectorySnapshot(16);
+		snapshot.snapshot(dir);
+
+		// same name, size and time, but a new file
+		Path replacement = Files.write(dir.resolve("config.tmp"), new byte[] { 2 });
+		Files.setLastModifiedTime(replacement, mtime);
+		Files.move(replacement, file, StandardCopyOption.REPLACE_EXISTING);
+
+		List<Event> events = snapshot.rescan(dir);
+		Assertions.assertEquals(2, events.size());
+		Assertions.assertEquals(ENTRY_DELETE, events.get(0).getKind());
+		Assertions.assertEquals(ENTRY_CREATE, events.get(1).getKind());
+	}
+
+	static class Attributes implements BasicFileAttributes {
+		private final Object fileKey;
+
+		Attributes(Object fileKey) {
+			this.fileKey = fileKey;
+		}
+
+		@Override
+		public FileTime lastModifiedTime() {
+			return FileTime.fromMillis(0);
+		}
+
+		@Override
+		public FileTime lastAccessTime() {
+			return lastModifiedTime();
+		}
+
+		@Override
+		public FileTime creationTime() {
+			return lastModifiedTime();
+		}
+
+		@Override
+		public boolean isRegularFile() {
+			return true;
+		}
+
+		@Override
+		public boolean isDirectory() {
+			return false;
+		}
+
+		@Override
+		public boolean isSymbolicLink() {
+			return false;
+		}
+
+		@Override
+		public boolean isOther() {
+			return false;
+		}
+
+		@Override
+		public long size() {
+			return 1;
+		}
+
+		@Override
+		public Object fileKey() {
+			return fileKey;
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EventCoalescerTest {
+
+	static class CollectingSink implements EventSink {
+		final List<Event> events = new ArrayList<>();
+		int batches;
+
+		@Override
+		public synchronized void publish(Event event) {
+			events.add(event);
+		}
+
+		@Override
+		public synchronized void publishAll(List<Event> batch) {
+			batches++;
+			events.addAll(batch);
+		}
+	}
+
+	@Test
+	public void givenEventStormWhenCoalescedThenOneEventPerPath() throws InterruptedException {
+		CollectingSink sink = new CollectingSink();
+		EventCoalescer coalescer = new EventCoalescer(sink, 60000, 1000);
+		Path copied = Paths.get("copied.bin");
+		Path temp = Paths.get("temp.swp");
+		Path replaced = Paths.get("replaced.txt");
+
+		coalescer.publish(new Event(copied, ENTRY_CREATE));
+		for (int i = 0; i < 100; i++) {
+			coalescer.publish(new Event(copied, ENTRY_MODIFY));
+		}
+		coalescer.publish(new Event(temp, ENTRY_CREATE));
+		coalescer.publish(new Event(temp, ENTRY_MODIFY));
+		coalescer.publish(new Event(temp, ENTRY_DELETE));
+		coalescer.publish(new Event(replaced, ENTRY_DELETE));
+		coalescer.publish(new Event(replaced, ENTRY_CREATE));
+		coalescer.close();
+
+		Assertions.assertEquals(1, sink.batches);
+		Assertions.assertEquals(3, sink.events.size());
+		Assertions.assertEquals(copied, sink.events.get(0).getPath());
+		Assertions.assertEquals(ENTRY_CREATE, sink.events.get(0).getKind());
+		Assertions.assertEquals(ENTRY_DELETE, sink.events.get(1).getKind());
+		Assertions.assertEquals(ENTRY_CREATE, sink.events.get(2).getKind());
+		Assertions.assertEquals(106, coalescer.getRawCount());
+		Assertions.assertEquals(3, coalescer.getDeliveredCount());
+		Assertions.assertEquals(1, coalescer.getCancelledCount());
+	}
+
+	@Test
+	public void givenQuietWindowWhenFlushedThenOnlyQuietPathsDelivered() throws InterruptedException {
+		CollectingSink sink = new CollectingSink();
+		EventCoalescer coalescer = new EventCoalescer(sink, 60000, 1000);
+		coalescer.publish(new Event(Paths.get("a"), ENTRY_MODIFY));
+
+		coalescer.flushQuiet(System.nanoTime());
+		Assertions.assertTrue(sink.events.isEmpty());
+
+		coalescer.flushQuiet(System.nanoTime() + 120000000000L);
+		Assertions.assertEquals(1, sink.events.size());
+		coalescer.close();
+	}
+
+	@Test
+	public void givenPathNeverQuietWhenMaxHoldPassesThenDeliveredAnyway() throws InterruptedException {
+		CollectingSink sink = new CollectingSink();
+		EventCoalescer coalescer = new EventCoalescer(sink, 100, 300, 1000);
+		Path log = Paths.get("app.log");
+		coalescer.publish(new Event(log, ENTRY_CREATE));
+		long deadline = System.nanoTime() + 1_500_000_000L;
+		while (System.nanoTime() < deadline) {
+			Thread.sleep(50);
+			coalescer.publish(new Event(log, ENTRY_MODIFY));
+		}
+		int delivered;
+		synchronized (sink) {
+			delivered = sink.events.size();
+		}
+		coalescer.close();
+
+		// every 300 ms while it is being appended to, instead of never
+		Assertions.assertTrue(delivered >= 2, "delivered " + delivered);
+		Assertions.assertEquals(ENTRY_CREATE, sink.events.get(0).getKind());
+		Assertions.assertEquals(ENTRY_MODIFY, sink.events.get(1).getKind());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> new EventCoalescer(sink, 100, 50, 1000));
+	}
+
+	@Test
+	public void givenSlowFlushWhenOverflowPushesSamePathThenDeliveredInOrder() throws Exception {
+		CountDownLatch entered = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CollectingSink sink = new CollectingSink() {
+			@Override
+			public void publishAll(List<Event> batch) {
+				if (entered.getCount() > 0) {
+					entered.countDown();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}
+				super.publishAll(batch);
+			}
+		};
+		EventCoalescer coalescer = new EventCoalescer(sink, 60000, 1);
+		Path path = Paths.get("p");
+		coalescer.publish(new Event(path, ENTRY_CREATE));
+
+		AtomicReference<Exception> failure = new AtomicReference<>();
+		// the flush takes the create, then stalls in the sink
+		Thread flush = new Thread(() -> {
+			try {
+				coalescer.flushQuiet(System.nanoTime() + 120000000000L);
+			} catch (Exception e) {
+				failure.set(e);
+			}
+		});
+		flush.start();
+		entered.await();
+		// a newer event for the same path is pushed out by overflow meanwhile
+		Thread publish = new Thread(() -> {
+			try {
+				coalescer.publish(new Event(path, ENTRY_DELETE));
+				coalescer.publish(new Event(Paths.get("q"), ENTRY_CREATE));
+			} catch (Exception e) {
+				failure.set(e);
+			}
+		});
+		publish.start();
+		publish.join(200);
+		release.countDown();
+		flush.join();
+		publish.join();
+		coalescer.close();
+
+		Assertions.assertNull(failure.get());
+		Assertions.assertEquals(3, sink.events.size());
+		Assertions.assertEquals(ENTRY_CREATE, sink.events.get(0).getKind());
+		Assertions.assertEquals(ENTRY_DELETE, sink.events.get(1).getKind());
+		Assertions.assertEquals(path, sink.events.get(1).getPath());
+	}
+}
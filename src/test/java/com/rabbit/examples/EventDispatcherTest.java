@@ -0,0 +1,53 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class EventDispatcherTest {
+
+	static class SequencedEvent extends Event {
+		final int sequence;
+
+		SequencedEvent(Path path, int sequence) {
+			super(path, ENTRY_MODIFY);
+			this.sequence = sequence;
+		}
+	}
+
+	@Test
+	public void givenManyEventsPerPathWhenDispatchedThenOrderPreservedPerPath() throws InterruptedException {
+		final Map<Path, List<Integer>> seen = new ConcurrentHashMap<>();
+		EventDispatcher dispatcher = new EventDispatcher(4, 8, new EventHandler() {
+			@Override
+			public void handle(Event event) {
+				seen.computeIfAbsent(event.getPath(), p -> Collections.synchronizedList(new ArrayList<Integer>()))
+						.add(((SequencedEvent) event).sequence);
+			}
+		});
+
+		for (int i = 0; i < 1000; i++) {
+			for (int p = 0; p < 16; p++) {
+				dispatcher.publish(new SequencedEvent(Paths.get("file" + p), i));
+			}
+		}
+		dispatcher.shutdown();
+
+		Assertions.assertEquals(16, seen.size());
+		for (List<Integer> sequence : seen.values()) {
+			Assertions.assertEquals(1000, sequence.size());
+			for (int i = 0; i < sequence.size(); i++) {
+				Assertions.assertEquals(i, sequence.get(i).intValue());
+			}
+		}
+	}
+}
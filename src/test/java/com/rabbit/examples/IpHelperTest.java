@@ -0,0 +1,49 @@
+package com.rabbit.examples;
+
+import java.net.UnknownHostException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IpHelperTest {
+
+	@Test
+	public void givenLiteralsWhenCheckedThenRecognisedWithoutLookup() {
+		Assertions.assertTrue(IpHelper.checkIsIpV4Address(" 10.218.25.25 "));
+		Assertions.assertFalse(IpHelper.checkIsIpV4Address("11111111"));
+		Assertions.assertFalse(IpHelper.checkIsIpV4Address("Hello, World"));
+		Assertions.assertTrue(IpHelper.checkIsIpV6Address("[2001:db8::1]"));
+		Assertions.assertTrue(IpHelper.checkIsIpV6Address("fe80::1%eth0"));
+		Assertions.assertFalse(IpHelper.checkIsIpV6Address("host:8080"));
+		Assertions.assertTrue(IpHelper.checkIsIpAddress("::ffff:1.2.3.4"));
+	}
+
+	@Test
+	public void givenAddressesWhenCanonicalizedThenFullyExpanded() {
+		Assertions.assertEquals("2001:db8:0:0:0:0:0:1", IpHelper.makeCanonicalAddress("[2001:DB8::0001]"));
+		Assertions.assertEquals("10.1.2.3", IpHelper.makeCanonicalAddress("::ffff:10.1.2.3"));
+		Assertions.assertEquals("10.1.2.3", IpHelper.makeCanonicalAddress("010.001.002.003"));
+		Assertions.assertEquals("example.com", IpHelper.makeCanonicalAddress(" example.com "));
+		Assertions.assertTrue(IpHelper.checkIsSameAddress("::1", "0:0:0:0:0:0:0:1"));
+	}
+
+	@Test
+	public void givenAddressesWhenConvertedThenBytesAndVersionMatch() throws Exception {
+		Assertions.assertArrayEquals(new byte[] { 10, 0, 0, 1 }, IpHelper.getAddressBytes("10.0.0.1"));
+		Assertions.assertArrayEquals(new byte[] { 10, 0, 0, 1 }, IpHelper.getAddressBytes("::ffff:10.0.0.1"));
+		Assertions.assertEquals(16, IpHelper.getAddressBytes("::1").length);
+		Assertions.assertEquals(IpHelper.IpVersion.ipV4, IpHelper.getIpVersion("10.0.0.1"));
+		Assertions.assertEquals(IpHelper.IpVersion.ipV6, IpHelper.getIpVersion("::1"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> IpHelper.getIpVersion("localhost"));
+	}
+
+	@Test
+	public void givenMasksWhenFormattedThenNoNameResolution() throws Exception {
+		Assertions.assertEquals("255.255.240.0", IpHelper.getNetmaskAddress("10.0.0.0/20"));
+		Assertions.assertEquals("ffff:ffff:ffff:0:0:0:0:0", IpHelper.getNetmaskAddress("2001:db8::/48"));
+		Assertions.assertEquals("10.0.0.0/20", IpHelper.formatCIDR("10.0.0.0", "255.255.240.0"));
+		Assertions.assertEquals("2001:db8::/48", IpHelper.formatCIDR("2001:db8::", "ffff:ffff:ffff::"));
+		Assertions.assertThrows(UnknownHostException.class, () -> IpHelper.formatCIDR("10.0.0.0", "example.com"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> IpHelper.formatCIDR("10.0.0.0", "255.0.255.0"));
+	}
+}
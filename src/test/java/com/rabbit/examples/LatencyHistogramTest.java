@@ -0,0 +1,44 @@
+package com.rabbit.examples;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void givenUniformValuesWhenRecordedThenPercentilesWithinOnePercent() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (long v = 1; v <= 100000; v++) {
+			histogram.record(v * 1000);
+		}
+
+		Assertions.assertEquals(100000, histogram.getCount());
+		Assertions.assertEquals(50000000, histogram.getValueAtPercentile(50), 500000);
+		Assertions.assertEquals(99000000, histogram.getValueAtPercentile(99), 990000);
+		Assertions.assertEquals(100000000, histogram.getMax(), 1000000);
+		Assertions.assertTrue(histogram.getMax() >= 100000000);
+	}
+
+	@Test
+	public void givenAnyValueWhenBucketedThenBucketBoundsIt() {
+		long[] values = { 0, 1, 255, 256, 257, 1000, 123456789, 1L << 40, Long.MAX_VALUE };
+		for (long value : values) {
+			int index = LatencyHistogram.indexOf(value);
+			Assertions.assertTrue(LatencyHistogram.highestValueOf(index) >= value);
+			Assertions.assertTrue(index == 0 || LatencyHistogram.highestValueOf(index - 1) < value);
+		}
+	}
+
+	@Test
+	public void givenSnapshotWhenTakenThenIntervalStartsEmpty() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		histogram.record(5000);
+		histogram.record(-20);
+
+		LatencyHistogram snapshot = histogram.snapshotAndReset();
+		Assertions.assertEquals(2, snapshot.getCount());
+		Assertions.assertEquals(0, snapshot.getValueAtPercentile(50));
+		Assertions.assertEquals(0, histogram.getCount());
+		Assertions.assertEquals(0, histogram.getMax());
+	}
+}
@@ -0,0 +1,54 @@
+package com.rabbit.examples;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogCanonicalizerTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenLogLinesWhenCanonicalizedThenOnlyAddressesChange() throws Exception {
+		String log = "010.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET / HTTP/1.0\" 200 2326\n"
+				+ "client=2001:DB8::1 peer=[::1] at 12:30:45\n"
+				+ "\n"
+				+ "mapped ::ffff:192.168.0.1,256.1.1.1,1.2.3.4:80\n"
+				+ "no newline at end 10.1.2.3";
+		String expected = "10.0.0.1 - - [10/Oct/2000:13:55:36 -0700] \"GET / HTTP/1.0\" 200 2326\n"
+				+ "client=2001:db8:0:0:0:0:0:1 peer=0:0:0:0:0:0:0:1 at 12:30:45\n"
+				+ "\n"
+				+ "mapped 192.168.0.1,256.1.1.1,1.2.3.4:80\n"
+				+ "no newline at end 10.1.2.3";
+
+		Path file = dir.resolve("access.log");
+		Files.write(file, log.getBytes(StandardCharsets.US_ASCII));
+		for (long chunkSize : new long[] { 1, 7, 64, 1 << 20 }) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			Assertions.assertEquals(5, LogCanonicalizer.canonicalize(file, out, 3, chunkSize));
+			Assertions.assertEquals(expected, new String(out.toByteArray(), StandardCharsets.US_ASCII));
+		}
+	}
+
+	@Test
+	public void givenManyChunksWhenCanonicalizedThenOutputStaysInOrder() throws Exception {
+		StringBuilder log = new StringBuilder();
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 5000; i++) {
+			log.append(i).append(" ::ffff:10.0.").append(i / 256).append('.').append(i % 256).append('\n');
+			expected.append(i).append(" 10.0.").append(i / 256).append('.').append(i % 256).append('\n');
+		}
+		Path file = dir.resolve("big.log");
+		Files.write(file, log.toString().getBytes(StandardCharsets.US_ASCII));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Assertions.assertEquals(5000, LogCanonicalizer.canonicalize(file, out, 4, 1000));
+		Assertions.assertEquals(expected.toString(), new String(out.toByteArray(), StandardCharsets.US_ASCII));
+	}
+}
@@ -0,0 +1,86 @@
+package com.rabbit.examples;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PollingWatcherTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenChangesInTreeWhenScannedThenEventsPublished() throws IOException, InterruptedException {
+		Files.createDirectories(dir.resolve("a/b"));
+		Path existing = Files.write(dir.resolve("a/b/existing.txt"), new byte[] { 1 });
+		Path doomed = Files.write(dir.resolve("a/doomed.txt"), new byte[] { 1 });
+
+		final List<Event> events = new ArrayList<>();
+		PollingWatcher watcher = new PollingWatcher(dir, true, new EventSink() {
+			@Override
+			public void publish(Event event) {
+				events.add(event);
+			}
+		}, 10, 1000, 1.0, 2);
+		Assertions.assertEquals(3, watcher.getDirectoryCount());
+
+		watcher.scan(true);
+		Assertions.assertTrue(events.isEmpty());
+
+		Files.write(existing, new byte[] { 1, 2 });
+		Files.delete(doomed);
+		Files.createDirectories(dir.resolve("new/deeper"));
+		Path nested = Files.write(dir.resolve("new/deeper/nested.txt"), new byte[] { 1 });
+		watcher.scan(true);
+
+		Map<Path, Object> kinds = new HashMap<>();
+		for (Event event : events) {
+			kinds.put(event.getPath(), event.getKind());
+		}
+		Assertions.assertEquals(ENTRY_MODIFY, kinds.get(existing));
+		Assertions.assertEquals(ENTRY_DELETE, kinds.get(doomed));
+		Assertions.assertEquals(ENTRY_CREATE, kinds.get(dir.resolve("new")));
+		Assertions.assertEquals(ENTRY_CREATE, kinds.get(dir.resolve("new/deeper")));
+		Assertions.assertEquals(ENTRY_CREATE, kinds.get(nested));
+		Assertions.assertEquals(5, events.size());
+		Assertions.assertEquals(5, watcher.getDirectoryCount());
+	}
+
+	@Test
+	public void givenRunningWatcherWhenInterruptedThenPoolShutDown() throws Exception {
+		final PollingWatcher watcher = new PollingWatcher(dir, true, new EventSink() {
+			@Override
+			public void publish(Event event) {
+			}
+		}, 10, 1000, 0.5, 2);
+		final AtomicBoolean interrupted = new AtomicBoolean();
+		Thread thread = new Thread(() -> {
+			try {
+				watcher.processEvents();
+			} catch (InterruptedException e) {
+				interrupted.set(true);
+			}
+		});
+		thread.start();
+		Thread.sleep(50);
+		thread.interrupt();
+		thread.join(5000);
+
+		Assertions.assertFalse(thread.isAlive());
+		Assertions.assertTrue(interrupted.get());
+		Assertions.assertTrue(watcher.isShutdown());
+	}
+}
@@ -0,0 +1,107 @@
+package com.rabbit.examples;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ReloadableUriClassifierTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenBundledRulesWhenLoadedThenSameAsIcrdCall() throws Exception {
+		Path rules = Paths.get(getClass().getClassLoader().getResource("icrd.rules").toURI());
+		ReloadableUriClassifier classifier = new ReloadableUriClassifier(rules);
+		for (String uri : StringManipulationUtils.SAMPLE_URIS) {
+			Assertions.assertEquals(StringManipulationUtils.isIcrdCall(uri), classifier.matches(uri), uri);
+		}
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> ReloadableUriClassifier.compile(Arrays.asList("root tm", "roots cm")));
+	}
+
+	@Test
+	public void givenWatchedRulesWhenFileReplacedThenSwappedWithoutBlockingReaders() throws Exception {
+		Path rules = dir.resolve("uri.rules");
+		write(rules, "prefix /mgmt\nroot tm\n");
+		try (ReloadableUriClassifier classifier = new ReloadableUriClassifier(rules)) {
+			Assertions.assertTrue(classifier.matches("/mgmt/tm/sys"));
+			Assertions.assertFalse(classifier.matches("/mgmt/shared/echo"));
+
+			AtomicBoolean stop = new AtomicBoolean();
+			AtomicLong classified = new AtomicLong();
+			AtomicReference<String> failure = new AtomicReference<>();
+			Thread reader = new Thread(() -> {
+				while (!stop.get()) {
+					if (!classifier.matches("/mgmt/tm/sys")) {
+						failure.set("tm did not match after " + classified.get() + " lookups");
+						return;
+					}
+					classified.incrementAndGet();
+				}
+			});
+			reader.start();
+			try {
+				classifier.watch(50);
+
+				write(rules, "prefix /mgmt\nroot tm\nroot shared\n");
+				awaitCount(classifier::getReloadCount, 1);
+				Assertions.assertTrue(classifier.matches("/mgmt/shared/echo"));
+				Assertions.assertTrue(classifier.getLastSwapLatencyNanos() > 0);
+
+				write(rules, "rooot tm\n");
+				awaitCount(classifier::getFailureCount, 1);
+				Assertions.assertTrue(classifier.matches("/mgmt/shared/echo"));
+			} finally {
+				stop.set(true);
+				reader.join();
+			}
+			Assertions.assertNull(failure.get());
+			Assertions.assertTrue(classified.get() > 0);
+		}
+	}
+
+	@Test
+	public void givenClosedWatchWhenWatchedAgainThenReloads() throws Exception {
+		Path rules = dir.resolve("uri.rules");
+		write(rules, "prefix /mgmt\nroot tm\n");
+		try (ReloadableUriClassifier classifier = new ReloadableUriClassifier(rules)) {
+			for (int i = 0; i < 20; i++) {
+				classifier.watch(10);
+				classifier.close();
+			}
+			write(rules, "prefix /mgmt\nroot cm\n");
+			Assertions.assertEquals(0, classifier.getReloadCount());
+
+			classifier.watch(10);
+			write(rules, "prefix /mgmt\nroot shared\n");
+			awaitCount(classifier::getReloadCount, 1);
+			Assertions.assertTrue(classifier.matches("/mgmt/shared/echo"));
+		}
+	}
+
+	private static void write(Path file, String content) throws Exception {
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		Files.write(tmp, content.getBytes(StandardCharsets.UTF_8));
+		Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		while (count.getAsLong() < expected && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		Assertions.assertEquals(expected, count.getAsLong());
+	}
+}
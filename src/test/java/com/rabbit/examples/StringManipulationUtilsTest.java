@@ -0,0 +1,48 @@
+package com.rabbit.examples;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StringManipulationUtilsTest {
+
+	private static final Pattern ICRD_URI_PATTERN = Pattern
+			.compile("^(\\/mgmt)?(\\/)?(tm|cm|sys|access|device|net|odata|subscriptions|toc).*$");
+
+	@Test
+	public void givenSampleAndEdgeUrisWhenClassifiedThenSameAsRegex() {
+		List<String> uris = new ArrayList<>(Arrays.asList(StringManipulationUtils.SAMPLE_URIS));
+		uris.addAll(Arrays.asList("", "/", "/mgmt", "/mgmt/", "/mgmttm", "/mgmt/t", "/mgmt//tm", "mgmt/tm", "tm",
+				"/tm", "toc", "/to", "/mgmt/shared/echo", "/mgmt/tm/ltm\n", "/net\r\n", "/sys x", "/mgmt/cmé",
+				"/mgmt/subscriptions?x=1", "/mgmt/odat", "\n/tm", "/étm", "//tm"));
+		for (String uri : uris) {
+			Assertions.assertEquals(ICRD_URI_PATTERN.matcher(uri).matches(), StringManipulationUtils.isIcrdCall(uri),
+					uri);
+		}
+	}
+
+	@Test
+	public void givenMutatedSamplesWhenClassifiedThenSameAsRegex() {
+		Random random = new Random(46);
+		char[] alphabet = "/mgtcsyadevino\n\r x".toCharArray();
+		for (int n = 0; n < 20000; n++) {
+			StringBuilder uri = new StringBuilder(
+					StringManipulationUtils.SAMPLE_URIS[random.nextInt(StringManipulationUtils.SAMPLE_URIS.length)]);
+			for (int edits = random.nextInt(4); edits > 0; edits--) {
+				int at = random.nextInt(Math.min(uri.length(), 12) + 1);
+				if (random.nextBoolean() && at < uri.length()) {
+					uri.deleteCharAt(at);
+				} else {
+					uri.insert(at, alphabet[random.nextInt(alphabet.length)]);
+				}
+			}
+			String s = uri.toString();
+			Assertions.assertEquals(ICRD_URI_PATTERN.matcher(s).matches(), StringManipulationUtils.isIcrdCall(s), s);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.rabbit.examples.ip;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.rabbit.examples.io.AsciiSequence;
+
+public class IpParserTest {
+
+	@Test
+	public void givenDottedQuadsWhenParsedThenOnlyStrictFormAccepted() {
+		Assertions.assertEquals(0x0adaf119L, IpParser.parseIpv4("10.218.241.25"));
+		Assertions.assertEquals(0xffffffffL, IpParser.parseIpv4("255.255.255.255"));
+		Assertions.assertEquals(0x01020304L, IpParser.parseIpv4("001.02.3.4"));
+
+		String[] invalid = { "", "1.2.3", "1.2.3.4.5", "256.1.1.1", "1.2.3.", ".1.2.3", "1..2.3", "1.2.3.4 ",
+				"11111111", "1.2.3.0004", "a.b.c.d", "1.2.3.-4" };
+		for (String s : invalid) {
+			Assertions.assertEquals(IpParser.INVALID, IpParser.parseIpv4(s), s);
+		}
+	}
+
+	@Test
+	public void givenIpv6LiteralsWhenParsedThenSameAsInetAddress() throws Exception {
+		String[] valid = { "::", "::1", "1::", "2001:db8::ff00:42:8329", "2001:0db8:0000:0000:0000:ff00:0042:8329",
+				"fe80::1:2:3:4:5:6", "1:2:3:4:5:6:7:8", "1:2:3:4:5:6::8", "::2:3:4:5:6:7:8", "ABCD:ef01::",
+				"::13.1.68.3", "64:ff9b::192.0.2.33", "1:2:3:4:5:6:1.2.3.4" };
+		long[] out = new long[2];
+		for (String s : valid) {
+			Assertions.assertTrue(IpParser.parseIpv6(s, out), s);
+			Assertions.assertArrayEquals(InetAddress.getByName(s).getAddress(), IpParser.toBytes(out[0], out[1]), s);
+		}
+	}
+
+	@Test
+	public void givenMalformedIpv6WhenParsedThenRejected() {
+		String[] invalid = { "", ":", ":1", "1:", ":::", "1:::2", "1::2::3", "12345::", "1:2:3:4:5:6:7",
+				"1:2:3:4:5:6:7:8:9", "1:2:3:4:5:6:7::8", "1:2:3:4:5:6:7:1.2.3.4", "::1.2.3", "::1.2.3.4:5",
+				"g::1", "[::1", "::1%", "1.2.3.4" };
+		long[] out = new long[2];
+		for (String s : invalid) {
+			Assertions.assertFalse(IpParser.parseIpv6(s, out), s);
+		}
+	}
+
+	@Test
+	public void givenBracketsZoneAndMappedFormWhenParsedThenDecoded() {
+		long[] out = new long[2];
+		Assertions.assertTrue(IpParser.parseIpv6("[fe80::1%eth0]", out));
+		Assertions.assertEquals(0xfe80000000000000L, out[0]);
+		Assertions.assertEquals(1L, out[1]);
+
+		Assertions.assertTrue(IpParser.parseIpv6("::ffff:10.0.0.1", out));
+		Assertions.assertTrue(IpParser.isIpv4Mapped(out[0], out[1]));
+		Assertions.assertEquals("10.0.0.1", IpParser.appendIpv4(new StringBuilder(), out[1] & 0xffffffffL).toString());
+		Assertions.assertEquals("0:0:0:0:0:ffff:a00:1", IpParser.appendIpv6(new StringBuilder(), out[0], out[1]).toString());
+	}
+
+	@Test
+	public void givenByteRangeWhenParsedThenNoStringNeeded() {
+		byte[] line = "client=192.168.1.20 server=[2001:db8::1]:443".getBytes(StandardCharsets.US_ASCII);
+		AsciiSequence token = new AsciiSequence();
+		Assertions.assertEquals(0xc0a80114L, IpParser.parseIpv4(token.wrap(line, 7, 19)));
+
+		long[] out = new long[2];
+		Assertions.assertTrue(IpParser.parseIpv6(token.wrap(line, 27, 40), out));
+		Assertions.assertEquals(0x20010db800000000L, out[0]);
+		Assertions.assertEquals(1L, out[1]);
+	}
+}
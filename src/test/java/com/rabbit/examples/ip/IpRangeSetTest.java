@@ -0,0 +1,94 @@
+package com.rabbit.examples.ip;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class IpRangeSetTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenOverlappingCidrsAndRangesWhenBuiltThenMergedAndSearchable() {
+		IpRangeSet set = IpRangeSet.builder()
+				.add("10.0.0.0/24")
+				.add("10.0.1.0/24")
+				.add("10.0.0.128/25")
+				.add("192.168.1.10 - 192.168.1.20")
+				.add("2001:db8::/32")
+				.add("2001:db9::1")
+				.build();
+
+		Assertions.assertEquals("[10.0.0.0-10.0.1.255, 192.168.1.10-192.168.1.20, "
+				+ "2001:db8:0:0:0:0:0:0-2001:db8:ffff:ffff:ffff:ffff:ffff:ffff, "
+				+ "2001:db9:0:0:0:0:0:1-2001:db9:0:0:0:0:0:1]", set.toString());
+		Assertions.assertTrue(set.contains("10.0.1.255"));
+		Assertions.assertTrue(set.contains("::ffff:10.0.0.7"));
+		Assertions.assertFalse(set.contains("10.0.2.0"));
+		Assertions.assertTrue(set.contains("192.168.1.10"));
+		Assertions.assertFalse(set.contains("192.168.1.21"));
+		Assertions.assertTrue(set.contains("2001:db8:1234::"));
+		Assertions.assertFalse(set.contains("2001:db9::2"));
+		Assertions.assertFalse(set.contains("0.0.0.0"));
+		Assertions.assertFalse(set.contains("garbage"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> IpRangeSet.builder().add("10.0.0.9-10.0.0.1"));
+	}
+
+	@Test
+	public void givenRandomSetsWhenCombinedThenSameAsBitSets() {
+		Random random = new Random(5);
+		for (int round = 0; round < 50; round++) {
+			BitSet bitsA = new BitSet();
+			BitSet bitsB = new BitSet();
+			IpRangeSet a = randomSet(random, bitsA);
+			IpRangeSet b = randomSet(random, bitsB);
+
+			BitSet union = (BitSet) bitsA.clone();
+			union.or(bitsB);
+			BitSet intersection = (BitSet) bitsA.clone();
+			intersection.and(bitsB);
+			BitSet difference = (BitSet) bitsA.clone();
+			difference.andNot(bitsB);
+
+			assertSame(union, a.union(b));
+			assertSame(intersection, a.intersection(b));
+			assertSame(difference, a.difference(b));
+			Assertions.assertEquals(a.union(b), b.union(a));
+		}
+	}
+
+	@Test
+	public void givenSetWhenWrittenAndReadThenEqual() throws IOException {
+		IpRangeSet set = IpRangeSet.builder().add("0.0.0.0/0").add("::/1").add("fe80::/10").build();
+		Path file = dir.resolve("ranges.bin");
+		set.write(file);
+		IpRangeSet read = IpRangeSet.read(file);
+		Assertions.assertEquals(set, read);
+		Assertions.assertTrue(read.contains("255.255.255.255"));
+		Assertions.assertTrue(read.contains("fe80::1"));
+		Assertions.assertFalse(read.contains("8000::"));
+	}
+
+	private static IpRangeSet randomSet(Random random, BitSet bits) {
+		IpRangeSet.Builder builder = IpRangeSet.builder();
+		for (int i = 0; i < 20; i++) {
+			int first = random.nextInt(1000);
+			int last = first + random.nextInt(30);
+			builder.addIpv4Range(first, last);
+			bits.set(first, last + 1);
+		}
+		return builder.build();
+	}
+
+	private static void assertSame(BitSet expected, IpRangeSet actual) {
+		for (int address = 0; address < 1100; address++) {
+			Assertions.assertEquals(expected.get(address), actual.contains(address), "address " + address);
+		}
+	}
+}
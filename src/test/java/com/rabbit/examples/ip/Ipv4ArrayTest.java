@@ -0,0 +1,54 @@
+package com.rabbit.examples.ip;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class Ipv4ArrayTest {
+
+	@Test
+	public void givenAddressesWhenSortedThenUnsignedOrderAndSearchable() {
+		Ipv4Array array = new Ipv4Array(2);
+		array.add("200.1.1.1");
+		array.add("10.0.0.1");
+		array.add("127.255.255.255");
+		array.add("128.0.0.0");
+		array.add("10.0.0.1");
+		array.sortDistinct();
+
+		Assertions.assertEquals(4, array.size());
+		Assertions.assertEquals("10.0.0.1", array.getAddress(0).toString());
+		Assertions.assertEquals("127.255.255.255", array.getAddress(1).toString());
+		Assertions.assertEquals("128.0.0.0", array.getAddress(2).toString());
+		Assertions.assertEquals("200.1.1.1", array.getAddress(3).toString());
+		Assertions.assertEquals(2, array.binarySearch(Ipv4Address.parseInt("128.0.0.0")));
+		Assertions.assertEquals(-2, array.binarySearch(Ipv4Address.parseInt("100.0.0.0")));
+		Assertions.assertFalse(array.contains(Ipv4Address.parseInt("11.0.0.1")));
+	}
+
+	@Test
+	public void givenRandomAddressesWhenSortedThenMatchesValueTypeOrder() {
+		Random random = new Random(7);
+		Ipv4Array array = new Ipv4Array();
+		for (int i = 0; i < 10000; i++) {
+			array.add(random.nextInt());
+		}
+		array.sort();
+		for (int i = 1; i < array.size(); i++) {
+			Assertions.assertTrue(array.getAddress(i - 1).compareTo(array.getAddress(i)) <= 0);
+		}
+	}
+
+	@Test
+	public void givenAddressWhenMaskedThenHostBitsCleared() {
+		Ipv4Address address = Ipv4Address.parse("192.168.37.201");
+		Assertions.assertEquals("192.168.32.0", address.mask(19).toString());
+		Assertions.assertEquals("0.0.0.0", address.mask(0).toString());
+		Assertions.assertEquals(address, address.mask(32));
+		Assertions.assertEquals(address.hashCode(), Ipv4Address.parse("192.168.37.201").hashCode());
+		Assertions.assertEquals(0xc0a825c9L, address.toLong());
+		Assertions.assertThrows(IllegalArgumentException.class, () -> address.mask(33));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Ipv4Address.parse("192.168.37"));
+	}
+}
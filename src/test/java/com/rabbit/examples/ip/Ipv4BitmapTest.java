@@ -0,0 +1,71 @@
+package com.rabbit.examples.ip;
+
+import static com.rabbit.examples.ip.Ipv4Address.parseInt;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class Ipv4BitmapTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenCidrsWhenFilledThenEdgesExactAndReadableFromAnotherMapping() throws IOException {
+		Path file = dir.resolve("block.bitmap");
+		Ipv4Bitmap bitmap = Ipv4Bitmap.create(file, 1);
+		bitmap.add("10.0.0.0/8");
+		bitmap.add("192.168.1.7");
+		bitmap.add("172.16.0.3/30");
+		bitmap.set(parseInt("1.2.3.60"), parseInt("1.2.4.5"), 1);
+		bitmap.set(parseInt("255.255.255.250"), parseInt("255.255.255.255"), 1);
+		bitmap.set(parseInt("10.1.0.0"), parseInt("10.1.0.2"), 0);
+		bitmap.force();
+
+		Ipv4Bitmap shared = Ipv4Bitmap.open(file);
+		Assertions.assertEquals(1, shared.getBitsPerAddress());
+		Assertions.assertTrue(shared.contains("10.0.0.0"));
+		Assertions.assertTrue(shared.contains("10.255.255.255"));
+		Assertions.assertFalse(shared.contains("9.255.255.255"));
+		Assertions.assertFalse(shared.contains("11.0.0.0"));
+		Assertions.assertFalse(shared.contains("10.1.0.2"));
+		Assertions.assertTrue(shared.contains("10.1.0.3"));
+		Assertions.assertTrue(shared.contains("192.168.1.7"));
+		Assertions.assertFalse(shared.contains("192.168.1.6"));
+		Assertions.assertFalse(shared.contains("192.168.1.8"));
+		Assertions.assertTrue(shared.contains("172.16.0.3"));
+		Assertions.assertTrue(shared.contains("172.16.0.0"));
+		Assertions.assertFalse(shared.contains("172.16.0.4"));
+		Assertions.assertFalse(shared.contains("1.2.3.59"));
+		Assertions.assertTrue(shared.contains("1.2.3.60"));
+		Assertions.assertTrue(shared.contains("1.2.4.5"));
+		Assertions.assertFalse(shared.contains("1.2.4.6"));
+		Assertions.assertTrue(shared.contains("255.255.255.255"));
+		Assertions.assertFalse(shared.contains("255.255.255.249"));
+		Assertions.assertFalse(shared.contains("not an address"));
+		Assertions.assertThrows(IllegalStateException.class, () -> shared.add("1.1.1.1"));
+	}
+
+	@Test
+	public void givenTwoBitsPerAddressWhenClassesOverlapThenLastFillWins() throws IOException {
+		Ipv4Bitmap bitmap = Ipv4Bitmap.create(dir.resolve("reputation.bitmap"), 2);
+		bitmap.add("100.64.0.0/10", 1);
+		bitmap.add("100.64.1.0/24", 2);
+		bitmap.add("100.64.1.17", 3);
+
+		Assertions.assertEquals(0, bitmap.get(parseInt("100.63.255.255")));
+		Assertions.assertEquals(1, bitmap.get(parseInt("100.64.0.255")));
+		Assertions.assertEquals(2, bitmap.get(parseInt("100.64.1.16")));
+		Assertions.assertEquals(3, bitmap.get(parseInt("100.64.1.17")));
+		Assertions.assertEquals(2, bitmap.get(parseInt("100.64.1.18")));
+		Assertions.assertEquals(1, bitmap.get(parseInt("100.64.2.0")));
+		Assertions.assertEquals(1, bitmap.get(parseInt("100.127.255.255")));
+		Assertions.assertEquals(0, bitmap.get(parseInt("100.128.0.0")));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> bitmap.add("1.1.1.1", 4));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> bitmap.add("2001:db8::/32", 1));
+	}
+}
@@ -0,0 +1,49 @@
+package com.rabbit.examples.ip;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class Ipv6ArrayTest {
+
+	@Test
+	public void givenRandomAddressesWhenSortedThenSameOrderAsValueTypes() {
+		Random random = new Random(11);
+		Ipv6Array array = new Ipv6Array();
+		List<Ipv6Address> expected = new ArrayList<>();
+		for (int i = 0; i < 5000; i++) {
+			// few distinct high halves, so ties are broken by the low half
+			long high = random.nextInt(4) * 0x4000000000000000L;
+			long low = random.nextLong();
+			array.add(high, low);
+			expected.add(Ipv6Address.of(high, low));
+		}
+		array.add(expected.get(0).getHigh(), expected.get(0).getLow());
+		array.sortDistinct();
+		Collections.sort(expected);
+
+		Assertions.assertEquals(expected.size(), array.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Assertions.assertEquals(expected.get(i), array.getAddress(i));
+		}
+		Ipv6Address probe = expected.get(1234);
+		Assertions.assertEquals(1234, array.binarySearch(probe.getHigh(), probe.getLow()));
+	}
+
+	@Test
+	public void givenAddressWhenMaskedAndFormattedThenCanonical() {
+		Ipv6Address address = Ipv6Address.parse("[2001:DB8:aaaa:bbbb:cccc:dddd:eeee:ffff]");
+		Assertions.assertEquals("2001:db8:aaaa:bbbb:cccc:dddd:eeee:ffff", address.toString());
+		Assertions.assertEquals("2001:db8:aaaa:0:0:0:0:0", address.mask(48).toString());
+		Assertions.assertEquals("2001:db8:aaaa:bbbb:cccc:dddd:eeee:ff00", address.mask(120).toString());
+		Assertions.assertEquals("2001:db8:aaaa:bbbb:8000:0:0:0", address.mask(65).toString());
+		Assertions.assertEquals(address, address.mask(128));
+		Assertions.assertTrue(Ipv6Address.fromIpv4(Ipv4Address.parseInt("10.0.0.1")).isIpv4Mapped());
+		Assertions.assertEquals(Ipv6Address.parse("::ffff:10.0.0.1"), Ipv6Address.fromIpv4(Ipv4Address.parseInt("10.0.0.1")));
+		Assertions.assertTrue(Ipv6Address.parse("8000::").compareTo(Ipv6Address.parse("7fff::")) > 0);
+	}
+}
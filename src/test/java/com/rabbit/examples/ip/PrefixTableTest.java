@@ -0,0 +1,130 @@
+package com.rabbit.examples.ip;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class PrefixTableTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenNestedPrefixesWhenLookedUpThenLongestMatchWins() {
+		PrefixTable<String> table = PrefixTable.<String>builder()
+				.add("0.0.0.0/0", "default")
+				.add("10.0.0.0/8", "ten")
+				.add("10.1.0.0/16", "ten-one")
+				.add("10.1.2.3", "host")
+				.add("10.1.0.0/16", "ten-one-again")
+				.add("2001:db8::/32", "doc")
+				.add("2001:db8:0:1::/64", "doc-1")
+				.add("[2001:db8:0:1::1]/128", "doc-host")
+				.build();
+
+		Assertions.assertEquals(7, table.size());
+		Assertions.assertEquals("host", table.lookup("10.1.2.3"));
+		Assertions.assertEquals("ten-one-again", table.lookup("10.1.2.4"));
+		Assertions.assertEquals("ten", table.lookup("10.200.0.1"));
+		Assertions.assertEquals("default", table.lookup("192.168.0.1"));
+		Assertions.assertEquals("ten-one-again", table.lookup("::ffff:10.1.9.9"));
+		Assertions.assertEquals("doc-host", table.lookup("2001:db8:0:1::1"));
+		Assertions.assertEquals("doc-1", table.lookup("2001:db8:0:1::2"));
+		Assertions.assertEquals("doc", table.lookup("2001:db8:ffff::"));
+		Assertions.assertNull(table.lookup("2001:db9::"));
+		Assertions.assertNull(table.lookup("not an address"));
+	}
+
+	@Test
+	public void givenRandomPrefixesWhenLookedUpThenSameAsLinearScan() {
+		Random random = new Random(3);
+		int[] addresses = new int[2000];
+		int[] lengths = new int[addresses.length];
+		PrefixTable.Builder<Integer> builder = PrefixTable.builder();
+		for (int i = 0; i < addresses.length; i++) {
+			// a narrow address range, so prefixes nest
+			lengths[i] = 8 + random.nextInt(25);
+			addresses[i] = Ipv4Address.mask(0x0a000000 | random.nextInt(1 << 20), lengths[i]);
+			builder.addIpv4(addresses[i], lengths[i], i);
+		}
+		PrefixTable<Integer> table = builder.build();
+
+		for (int n = 0; n < 20000; n++) {
+			int address = 0x0a000000 | random.nextInt(1 << 20);
+			int expected = -1;
+			for (int i = 0; i < addresses.length; i++) {
+				if (Ipv4Address.mask(address, lengths[i]) == addresses[i]
+						&& (expected < 0 || lengths[i] >= lengths[expected])) {
+					expected = i;
+				}
+			}
+			Integer actual = table.lookup(address);
+			Assertions.assertEquals(expected < 0 ? null : Integer.valueOf(expected), actual);
+		}
+		Assertions.assertTrue(table.getNodeCount() <= 2 * table.size());
+	}
+
+	@Test
+	public void givenPrefixFileWhenLoadedAndSwappedThenReadersSeeNewTable() throws IOException {
+		Path file = dir.resolve("prefixes.txt");
+		Files.write(file, Arrays.asList("# routes", "192.168.0.0/16 lan", "", "fd00::/8"), StandardCharsets.UTF_8);
+		LivePrefixTable<String> live = LivePrefixTable.load(file);
+		Assertions.assertEquals("lan", live.lookup("192.168.4.4"));
+		Assertions.assertEquals("fd00::/8", live.lookup("fd12::1"));
+
+		Files.write(file, Arrays.asList("192.168.4.0/24 office"), StandardCharsets.UTF_8);
+		PrefixTable<String> previous = live.publish(PrefixTable.load(file));
+		Assertions.assertEquals("lan", previous.lookup("192.168.4.4"));
+		Assertions.assertEquals("office", live.lookup("192.168.4.4"));
+		Assertions.assertNull(live.lookup("fd12::1"));
+
+		Files.write(file, Arrays.asList("192.168.4.0/33"), StandardCharsets.UTF_8);
+		Assertions.assertThrows(IOException.class, () -> PrefixTable.load(file));
+	}
+
+	@Test
+	public void givenConcurrentPublishersWhenSwappingThenEveryTableIsReplacedExactlyOnce() throws Exception {
+		PrefixTable<String> initial = PrefixTable.<String>builder().build();
+		LivePrefixTable<String> live = new LivePrefixTable<>(initial);
+		Set<PrefixTable<String>> replaced = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+		int threads = 4;
+		int perThread = 5000;
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> publishers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Thread publisher = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException x) {
+					return;
+				}
+				for (int i = 0; i < perThread; i++) {
+					replaced.add(live.publish(PrefixTable.<String>builder().build()));
+				}
+			});
+			publisher.start();
+			publishers.add(publisher);
+		}
+		start.countDown();
+		for (Thread publisher : publishers) {
+			publisher.join();
+		}
+		// a lost swap hands the same predecessor to two publishers and leaves another out
+		Assertions.assertEquals(threads * perThread, replaced.size());
+		Assertions.assertTrue(replaced.contains(initial));
+		Assertions.assertFalse(replaced.contains(live.get()));
+	}
+}
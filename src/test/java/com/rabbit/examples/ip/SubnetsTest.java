@@ -0,0 +1,147 @@
+package com.rabbit.examples.ip;
+
+import static com.rabbit.examples.ip.Ipv4Address.parseInt;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SubnetsTest {
+
+	@Test
+	public void givenIpv4PrefixWhenMeasuredThenMaskNetworkBroadcastAndHostsMatch() {
+		int address = parseInt("192.168.10.77");
+		Assertions.assertEquals(parseInt("255.255.255.192"), Subnets.netmask(26));
+		Assertions.assertEquals(26, Subnets.prefixLength(parseInt("255.255.255.192")));
+		Assertions.assertEquals(0, Subnets.prefixLength(0));
+		Assertions.assertEquals(32, Subnets.prefixLength(-1));
+		Assertions.assertEquals(-1, Subnets.prefixLength(parseInt("255.0.255.0")));
+		Assertions.assertEquals(parseInt("192.168.10.64"), Subnets.network(address, 26));
+		Assertions.assertEquals(parseInt("192.168.10.127"), Subnets.broadcast(address, 26));
+		Assertions.assertEquals(parseInt("192.168.10.65"), Subnets.firstHost(address, 26));
+		Assertions.assertEquals(parseInt("192.168.10.126"), Subnets.lastHost(address, 26));
+		Assertions.assertEquals(62, Subnets.hostCount(26));
+		Assertions.assertEquals(2, Subnets.hostCount(31));
+		Assertions.assertEquals(address, Subnets.lastHost(address, 32));
+		Assertions.assertEquals(1L << 32, Subnets.size(0));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Subnets.netmask(33));
+	}
+
+	@Test
+	public void givenIpv4PrefixWhenSubnettedThenContainmentHolds() {
+		int network = parseInt("10.0.0.0");
+		Assertions.assertTrue(Subnets.contains(network, 8, parseInt("10.255.0.1")));
+		Assertions.assertFalse(Subnets.contains(network, 8, parseInt("11.0.0.0")));
+		Assertions.assertTrue(Subnets.contains(network, 8, parseInt("10.1.0.0"), 16));
+		Assertions.assertFalse(Subnets.contains(parseInt("10.1.0.0"), 16, network, 8));
+		Assertions.assertEquals(parseInt("10.0.3.0"), Subnets.subnet(network, 8, 24, 3));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Subnets.subnet(network, 8, 10, 4));
+		Assertions.assertEquals(parseInt("10.0.2.0"), Subnets.supernet(parseInt("10.0.3.0"), 24));
+		Assertions.assertEquals(0, Subnets.supernet(parseInt("200.0.0.0"), 1));
+
+		List<String> subnets = new ArrayList<>();
+		Subnets.forEachSubnet(network, 8, 10, (n, length) -> subnets.add(Ipv4Address.format(n) + "/" + length));
+		Assertions.assertEquals("[10.0.0.0/10, 10.64.0.0/10, 10.128.0.0/10, 10.192.0.0/10]", subnets.toString());
+	}
+
+	@Test
+	public void givenRangesWhenEnumeratedThenFewestCoveringCidrs() {
+		List<String> cidrs = new ArrayList<>();
+		Subnets.forEachCidr(parseInt("10.0.0.1"), parseInt("10.0.0.10"),
+				(n, length) -> cidrs.add(Ipv4Address.format(n) + "/" + length));
+		Assertions.assertEquals("[10.0.0.1/32, 10.0.0.2/31, 10.0.0.4/30, 10.0.0.8/31, 10.0.0.10/32]", cidrs.toString());
+
+		cidrs.clear();
+		Subnets.forEachCidr(0, -1, (n, length) -> cidrs.add(Ipv4Address.format(n) + "/" + length));
+		Assertions.assertEquals("[0.0.0.0/0]", cidrs.toString());
+
+		cidrs.clear();
+		Subnets.forEachCidr(parseInt("255.255.255.254"), -1, (n, length) -> cidrs.add(Ipv4Address.format(n) + "/" + length));
+		Assertions.assertEquals("[255.255.255.254/31]", cidrs.toString());
+
+		List<String> ipv6 = new ArrayList<>();
+		Ipv6Address first = Ipv6Address.parse("2001:db8::ffff:ffff:ffff:ffff");
+		Ipv6Address last = Ipv6Address.parse("2001:db8:0:1::1");
+		Subnets.forEachCidr(first.getHigh(), first.getLow(), last.getHigh(), last.getLow(),
+				(high, low, length) -> ipv6.add(Ipv6Address.format(high, low) + "/" + length));
+		Assertions.assertEquals("[2001:db8:0:0:ffff:ffff:ffff:ffff/128, 2001:db8:0:1:0:0:0:0/127]", ipv6.toString());
+
+		ipv6.clear();
+		Subnets.forEachCidr(0, 0, -1, -1, (high, low, length) -> ipv6.add(Ipv6Address.format(high, low) + "/" + length));
+		Assertions.assertEquals("[0:0:0:0:0:0:0:0/0]", ipv6.toString());
+	}
+
+	@Test
+	public void givenIpv6PrefixWhenMeasuredThenMaskAndLastAddressMatch() {
+		Assertions.assertEquals(0xffffffffffff0000L, Subnets.netmaskHigh(48));
+		Assertions.assertEquals(0, Subnets.netmaskLow(48));
+		Assertions.assertEquals(48, Subnets.prefixLength(0xffffffffffff0000L, 0));
+		Assertions.assertEquals(96, Subnets.prefixLength(-1L, 0xffffffff00000000L));
+		Assertions.assertEquals(-1, Subnets.prefixLength(0xffff0000ffff0000L, 0));
+		Assertions.assertEquals(-1, Subnets.prefixLength(0xffff000000000000L, 1));
+		Ipv6Address network = Ipv6Address.parse("2001:db8::");
+		Assertions.assertEquals(0x20010db8ffffffffL, Subnets.lastHigh(network.getHigh(), 32));
+		Assertions.assertEquals(-1L, Subnets.lastLow(network.getLow(), 32));
+		Ipv6Address inside = Ipv6Address.parse("2001:db8:ffff::1");
+		Assertions.assertTrue(Subnets.contains(network.getHigh(), network.getLow(), 32, inside.getHigh(), inside.getLow()));
+		Assertions.assertFalse(Subnets.contains(network.getHigh(), network.getLow(), 48, inside.getHigh(), inside.getLow()));
+	}
+
+	@Test
+	public void givenIpv6PrefixWhenMeasuredThenNetworkAndHostsMatch() {
+		Ipv6Address address = Ipv6Address.parse("2001:db8:0:7:abcd::1");
+		Assertions.assertEquals("2001:db8:0:4:0:0:0:0", format(Subnets.networkHigh(address.getHigh(), 62),
+				Subnets.networkLow(address.getLow(), 62)));
+		Assertions.assertEquals("2001:db8:0:7:0:0:0:1", format(Subnets.firstHostHigh(address.getHigh(), 64),
+				Subnets.firstHostLow(address.getLow(), 64)));
+		Assertions.assertEquals("2001:db8:0:7:ffff:ffff:ffff:ffff", format(Subnets.lastHostHigh(address.getHigh(), 64),
+				Subnets.lastHostLow(address.getLow(), 64)));
+		Assertions.assertEquals("2001:db8:0:7:abcd:0:0:0", format(Subnets.firstHostHigh(address.getHigh(), 127),
+				Subnets.firstHostLow(address.getLow(), 127)));
+		Assertions.assertEquals("2001:db8:0:7:abcd:0:0:1", format(Subnets.lastHostHigh(address.getHigh(), 127),
+				Subnets.lastHostLow(address.getLow(), 127)));
+		Assertions.assertEquals("0:0:0:0:0:0:0:1", format(Subnets.firstHostHigh(0, 0), Subnets.firstHostLow(0, 0)));
+	}
+
+	@Test
+	public void givenIpv6PrefixWhenSubnettedThenContainmentHolds() {
+		Ipv6Address network = Ipv6Address.parse("2001:db8::");
+		Assertions.assertEquals("2001:db8:3:0:0:0:0:0", format(Subnets.subnetHigh(network.getHigh(), 32, 48, 3),
+				Subnets.subnetLow(network.getLow(), 32, 48, 3)));
+		// a subnet index that straddles the two halves
+		Assertions.assertEquals("2001:db8:0:1:1000:0:0:0", format(Subnets.subnetHigh(network.getHigh(), 60, 68, 17),
+				Subnets.subnetLow(network.getLow(), 60, 68, 17)));
+		Assertions.assertEquals("0:0:0:0:0:0:0:5", format(Subnets.subnetHigh(0, 0, 128, 5), Subnets.subnetLow(0, 0, 128, 5)));
+		// more subnets than a long can count: any index is in range
+		Assertions.assertEquals(Long.MAX_VALUE, Subnets.subnetLow(0, 0, 128, Long.MAX_VALUE));
+		Assertions.assertEquals(0, Subnets.subnetHigh(0, 0, 128, Long.MAX_VALUE));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Subnets.subnetHigh(network.getHigh(), 32, 34, 4));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Subnets.subnetLow(network.getLow(), 32, 129, 0));
+
+		Ipv6Address child = Ipv6Address.parse("2001:db8:1::");
+		Assertions.assertEquals("2001:db8:0:0:0:0:0:0", format(Subnets.supernetHigh(child.getHigh(), 48),
+				Subnets.supernetLow(child.getLow(), 48)));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> Subnets.supernetHigh(0, 0));
+
+		List<String> subnets = new ArrayList<>();
+		Subnets.forEachSubnet(network.getHigh(), network.getLow(), 63, 65,
+				(high, low, length) -> subnets.add(format(high, low) + "/" + length));
+		Assertions.assertEquals("[2001:db8:0:0:0:0:0:0/65, 2001:db8:0:0:8000:0:0:0/65, "
+				+ "2001:db8:0:1:0:0:0:0/65, 2001:db8:0:1:8000:0:0:0/65]", subnets.toString());
+
+		subnets.clear();
+		Subnets.forEachSubnet(0, 0, 0, 1, (high, low, length) -> subnets.add(format(high, low) + "/" + length));
+		Assertions.assertEquals("[0:0:0:0:0:0:0:0/1, 8000:0:0:0:0:0:0:0/1]", subnets.toString());
+
+		subnets.clear();
+		Subnets.forEachSubnet(-1L, -4L, 126, 128, (high, low, length) -> subnets.add(format(high, low) + "/" + length));
+		Assertions.assertEquals(4, subnets.size());
+		Assertions.assertEquals("ffff:ffff:ffff:ffff:ffff:ffff:ffff:ffff/128", subnets.get(3));
+	}
+
+	private static String format(long high, long low) {
+		return Ipv6Address.format(high, low);
+	}
+}
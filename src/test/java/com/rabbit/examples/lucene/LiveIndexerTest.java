@@ -0,0 +1,65 @@
+package com.rabbit.examples.lucene;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.rabbit.examples.Event;
+
+public class LiveIndexerTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenWatchEventsWhenAppliedThenIndexFollowsTree() throws IOException {
+		Directory directory = new RAMDirectory();
+		LuceneFileSearch luceneFileSearch = new LuceneFileSearch(directory, new StandardAnalyzer());
+		Path file = dir.resolve("notes.txt");
+
+		try (LiveIndexer indexer = new LiveIndexer(directory, new StandardAnalyzer(), 100, 60000)) {
+			Files.write(file, "alpha".getBytes(StandardCharsets.UTF_8));
+			indexer.handle(new Event(file, ENTRY_CREATE));
+			indexer.commit();
+			Assertions.assertEquals(1, luceneFileSearch.searchFiles("contents", "alpha").size());
+
+			Files.write(file, "bravo".getBytes(StandardCharsets.UTF_8));
+			indexer.handle(new Event(file, ENTRY_MODIFY));
+			indexer.commit();
+			Assertions.assertEquals(0, luceneFileSearch.searchFiles("contents", "alpha").size());
+			Assertions.assertEquals(1, luceneFileSearch.searchFiles("contents", "bravo").size());
+
+			Files.delete(file);
+			indexer.handle(new Event(file, ENTRY_DELETE));
+			indexer.commit();
+			Assertions.assertEquals(0, luceneFileSearch.searchFiles("contents", "bravo").size());
+		}
+	}
+
+	@Test
+	public void givenBatchSizeReachedWhenEventAppliedThenCommitted() throws IOException {
+		Directory directory = new RAMDirectory();
+		LuceneFileSearch luceneFileSearch = new LuceneFileSearch(directory, new StandardAnalyzer());
+
+		try (LiveIndexer indexer = new LiveIndexer(directory, new StandardAnalyzer(), 2, 60000)) {
+			for (int i = 0; i < 2; i++) {
+				Path file = dir.resolve("file" + i + ".txt");
+				Files.write(file, "charlie".getBytes(StandardCharsets.UTF_8));
+				indexer.handle(new Event(file, ENTRY_CREATE));
+			}
+			Assertions.assertEquals(2, luceneFileSearch.searchFiles("contents", "charlie").size());
+		}
+	}
+}
@@ -2,7 +2,9 @@ package com.rabbit.examples.lucene;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 import java.util.List;
 
 import org.apache.lucene.analysis.standard.StandardAnalyzer;
@@ -11,6 +13,7 @@ import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class LuceneFileSearchIntegrationTest {
 
@@ -29,4 +32,23 @@ public class LuceneFileSearchIntegrationTest {
 		Assertions.assertEquals("file1.txt", docs.get(0).get("filename"));
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void givenWarmedHeapCopyWhenSearchedThenCorrect(@TempDir Path indexPath) throws IOException, URISyntaxException {
+		String dataPath = "data/file1.txt";
+
+		Directory directory = IndexStorage.NIOFS.open(indexPath);
+		new LuceneFileSearch(directory, new StandardAnalyzer()).addFileToIndex(dataPath);
+		directory.close();
+
+		SearcherWarmer warmer = new SearcherWarmer(new StandardAnalyzer(), true, Collections.singletonList("consectetur"));
+		LuceneFileSearch luceneFileSearch = new LuceneFileSearch(IndexStorage.HEAP.open(indexPath), new StandardAnalyzer());
+		luceneFileSearch.openSearcher(warmer);
+
+		List<Document> docs = luceneFileSearch.searchFiles("contents", "consectetur");
+		luceneFileSearch.closeSearcher();
+
+		Assertions.assertEquals("file1.txt", docs.get(0).get("filename"));
+		Assertions.assertTrue(warmer.getLastPreloadedBytes() > 0);
+	}
+
+}
@@ -0,0 +1,155 @@
+package com.rabbit.examples.lucene;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.RAMDirectory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TreeIndexerTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	public void givenReindexWhenFilesChangedThenOnlyChangesProcessed() throws IOException {
+		Directory directory = new RAMDirectory();
+		TreeIndexer indexer = new TreeIndexer(directory, new StandardAnalyzer(), "MD5");
+		LuceneFileSearch luceneFileSearch = new LuceneFileSearch(directory, new StandardAnalyzer());
+		Path kept = write("kept.txt", "delta");
+		Path touched = write("touched.txt", "echo");
+		Path edited = write("edited.txt", "foxtrot");
+		Path removed = write("removed.txt", "golf");
+
+		TreeIndexer.Stats first = indexer.index(dir);
+		Assertions.assertEquals(4, first.getAdded());
+
+		Files.setLastModifiedTime(touched, FileTime.fromMillis(Files.getLastModifiedTime(touched).toMillis() + 5000));
+		Files.write(edited, "hotel".getBytes(StandardCharsets.UTF_8));
+		Files.setLastModifiedTime(edited, FileTime.fromMillis(Files.getLastModifiedTime(edited).toMillis() + 5000));
+		Files.delete(removed);
+
+		TreeIndexer.Stats second = indexer.index(dir);
+		Assertions.assertEquals(1, second.getUnchanged());
+		Assertions.assertEquals(1, second.getTouched());
+		Assertions.assertEquals(1, second.getReindexed());
+		Assertions.assertEquals(1, second.getDeleted());
+		Assertions.assertEquals(0, second.getAdded());
+
+		Assertions.assertEquals(1, luceneFileSearch.searchFiles("contents", "hotel").size());
+		Assertions.assertEquals(0, luceneFileSearch.searchFiles("contents", "foxtrot").size());
+		Assertions.assertEquals(0, luceneFileSearch.searchFiles("contents", "golf").size());
+		Assertions.assertEquals(kept.toString(), luceneFileSearch.searchFiles("contents", "delta").get(0).get("path"));
+
+		TreeIndexer.Stats third = indexer.index(dir);
+		Assertions.assertEquals(3, third.getUnchanged());
+	}
+
+	@Test
+	public void givenFileDeletedBeforeHashWhenReindexedThenDeletedAndRestIndexed() throws IOException {
+		Directory directory = new RAMDirectory();
+		LuceneFileSearch luceneFileSearch = new LuceneFileSearch(directory, new StandardAnalyzer());
+		Path doomed = write("doomed.txt", "india");
+		Path kept = write("kept.txt", "juliet");
+		Assertions.assertEquals(2, new TreeIndexer(directory, new StandardAnalyzer(), "MD5").index(dir).getAdded());
+
+		Files.setLastModifiedTime(doomed, FileTime.fromMillis(Files.getLastModifiedTime(doomed).toMillis() + 5000));
+		write("added.txt", "kilo");
+		TreeIndexer indexer = new TreeIndexer(directory, new StandardAnalyzer(), "MD5") {
+			@Override
+			byte[] hash(Path file) throws IOException {
+				if (file.equals(doomed)) {
+					// the walk has seen it, now it goes
+					Files.delete(doomed);
+				}
+				return super.hash(file);
+			}
+		};
+		TreeIndexer.Stats stats = indexer.index(dir);
+		Assertions.assertEquals(1, stats.getDeleted());
+		Assertions.assertEquals(1, stats.getAdded());
+		Assertions.assertEquals(0, stats.getFailed());
+		Assertions.assertEquals(0, luceneFileSearch.searchFiles("contents", "india").size());
+		Assertions.assertEquals(1, luceneFileSearch.searchFiles("contents", "kilo").size());
+		Assertions.assertEquals(kept.toString(), luceneFileSearch.searchFiles("contents", "juliet").get(0).get("path"));
+	}
+
+	@Test
+	public void givenUnreadableSubdirectoryWhenReindexedThenItsDocumentsKept() throws IOException {
+		Directory directory = new RAMDirectory();
+		LuceneFileSearch luceneFileSearch = new LuceneFileSearch(directory, new StandardAnalyzer());
+		Path locked = Files.createDirectories(dir.resolve("locked/deeper"));
+		write("locked/deeper/secret.txt", "lima");
+		write("locked/plans.txt", "mike");
+		write("open.txt", "november");
+		Assertions.assertEquals(3, new TreeIndexer(directory, new StandardAnalyzer(), "MD5").index(dir).getAdded());
+
+		// tests may run as root, which reads any directory, so the failure is injected the way
+		// walkFileTree reports a directory it cannot open
+		Path unreadable = locked.getParent();
+		TreeIndexer indexer = new TreeIndexer(directory, new StandardAnalyzer(), "MD5") {
+			@Override
+			void walk(Path start, FileVisitor<Path> visitor) throws IOException {
+				Files.walkFileTree(start, new DelegatingVisitor(visitor) {
+					@Override
+					public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+						if (dir.equals(unreadable)) {
+							visitor.visitFileFailed(dir, new AccessDeniedException(dir.toString()));
+							return FileVisitResult.SKIP_SUBTREE;
+						}
+						return visitor.preVisitDirectory(dir, attrs);
+					}
+				});
+			}
+		};
+		TreeIndexer.Stats stats = indexer.index(dir);
+		Assertions.assertEquals(1, stats.getFailed());
+		Assertions.assertEquals(0, stats.getDeleted());
+		Assertions.assertEquals(1, stats.getUnchanged());
+		Assertions.assertEquals(1, luceneFileSearch.searchFiles("contents", "lima").size());
+		Assertions.assertEquals(1, luceneFileSearch.searchFiles("contents", "mike").size());
+	}
+
+	private Path write(String name, String contents) throws IOException {
+		return Files.write(dir.resolve(name), contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static class DelegatingVisitor implements FileVisitor<Path> {
+		final FileVisitor<Path> visitor;
+
+		DelegatingVisitor(FileVisitor<Path> visitor) {
+			this.visitor = visitor;
+		}
+
+		@Override
+		public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+			return visitor.preVisitDirectory(dir, attrs);
+		}
+
+		@Override
+		public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+			return visitor.visitFile(file, attrs);
+		}
+
+		@Override
+		public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+			return visitor.visitFileFailed(file, exc);
+		}
+
+		@Override
+		public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+			return visitor.postVisitDirectory(dir, exc);
+		}
+	}
+}
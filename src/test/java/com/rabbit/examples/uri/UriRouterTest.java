@@ -0,0 +1,75 @@
+package com.rabbit.examples.uri;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class UriRouterTest {
+
+	@Test
+	public void givenTemplatesWhenRoutedThenMostSpecificWinsAndParametersExtracted() {
+		UriRouter<String> router = UriRouter.<String>builder()
+				.add("/mgmt/tm/sys/ucs", "ucs")
+				.add("/mgmt/tm/sys/{resource}", "sys")
+				.add("/mgmt/tm/ltm/{kind}/{name}", "ltm")
+				.add("/mgmt/tm/ltm/profile/qoe", "qoe")
+				.add("/mgmt/shared/{rest*}", "shared")
+				.add("/mgmt/tm/*", "tm")
+				.add("/", "root")
+				.build();
+
+		Assertions.assertEquals(7, router.size());
+		Assertions.assertEquals("ucs", router.route("/mgmt/tm/sys/ucs").getHandler());
+		Assertions.assertEquals("ucs", router.route("/mgmt/tm/sys/ucs/?expandSubcollections=true").getHandler());
+
+		RouteMatch<String> sys = router.route("/mgmt/tm/sys/sflow");
+		Assertions.assertEquals("sys", sys.getHandler());
+		Assertions.assertEquals("sflow", sys.getParameter("resource"));
+		Assertions.assertEquals(13, sys.getParameterStart(0));
+		Assertions.assertEquals(18, sys.getParameterEnd(0));
+
+		RouteMatch<String> ltm = router.route("/mgmt/tm/ltm/monitor/postgresql");
+		Assertions.assertEquals("/mgmt/tm/ltm/{kind}/{name} {kind=monitor, name=postgresql}", ltm.toString());
+		Assertions.assertEquals("qoe", router.route("/mgmt/tm/ltm/profile/qoe").getHandler());
+		Assertions.assertEquals("profile", router.route("/mgmt/tm/ltm/profile/splitsessionserver").getParameter("kind"));
+
+		// the literal and parameter branches fail deeper, so the tail takes it
+		RouteMatch<String> tm = router.route("/mgmt/tm/ltm/profile/qoe/extra");
+		Assertions.assertEquals("tm", tm.getHandler());
+		Assertions.assertEquals("ltm/profile/qoe/extra", tm.getParameter("*"));
+		Assertions.assertEquals("", router.route("/mgmt/tm").getParameter(0));
+
+		Assertions.assertEquals("settings/api-status/log", router.route("/mgmt/shared/settings/api-status/log")
+				.getParameter("rest"));
+		Assertions.assertEquals("root", router.route("/").getHandler());
+		Assertions.assertNull(router.route("/mgmt"));
+		Assertions.assertNull(router.route("mgmt/tm/sys/ucs"));
+		Assertions.assertNull(router.route("/mgmt/cm/sys"));
+		Assertions.assertNull(router.route("/mgmt//tm/sys/ucs"));
+	}
+
+	@Test
+	public void givenBadTemplatesWhenAddedThenRejected() {
+		UriRouter.Builder<String> builder = UriRouter.<String>builder().add("/a/{x}", "x");
+		Assertions.assertThrows(IllegalArgumentException.class, () -> builder.add("/a/{y}", "y"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> builder.add("/a/*/b", "b"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> builder.add("/a/b{x}", "b"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> builder.add("/a/{}", "b"));
+		Assertions.assertThrows(IllegalArgumentException.class, () -> builder.add("a", "a"));
+	}
+
+	@Test
+	public void givenThousandsOfRoutesWhenRoutedWithReusedMatchThenEachFound() {
+		UriRouter.Builder<Integer> builder = UriRouter.builder();
+		for (int i = 0; i < 5000; i++) {
+			builder.add("/mgmt/tm/module" + (i % 50) + "/resource" + i + "/{name}", i);
+		}
+		UriRouter<Integer> router = builder.build();
+		RouteMatch<Integer> match = router.newMatch();
+		for (int i = 0; i < 5000; i++) {
+			Assertions.assertTrue(router.route("/mgmt/tm/module" + (i % 50) + "/resource" + i + "/n" + i, match));
+			Assertions.assertEquals(i, match.getHandler().intValue());
+			Assertions.assertEquals("n" + i, match.getParameter("name"));
+		}
+		Assertions.assertFalse(router.route("/mgmt/tm/module1/resource2/x", match));
+	}
+}